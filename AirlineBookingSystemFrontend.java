@@ -1,10 +1,13 @@
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.beans.binding.Bindings;
 import javafx.beans.value.ChangeListener;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
+import javafx.geometry.Orientation;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
@@ -12,18 +15,28 @@ import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Text;
 import javafx.stage.Stage;
+import javafx.util.Callback;
 
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.sql.Date;
 import java.util.List;
 
 public class AirlineBookingSystemFrontend extends Application {
 
-    private final AirlineBackendService backendService = new AirlineBackendService();
+    private static final int PAGE_SIZE = 200;
+
+    private final AirlineBackendService backendService = AirlineBackendService.create();
+    private final AsyncAirlineBackendService asyncBackend = new AsyncAirlineBackendService(backendService);
 
 
     public AirlineBookingSystemFrontend() {
@@ -52,6 +65,12 @@ public class AirlineBookingSystemFrontend extends Application {
         }
     }
 
+    @Override
+    public void stop() {
+        asyncBackend.shutdown();
+        backendService.shutdown();
+    }
+
     private VBox createMainMenu(Stage primaryStage) {
         VBox vbox = new VBox(20);
         vbox.setPadding(new Insets(20));
@@ -91,6 +110,9 @@ public class AirlineBookingSystemFrontend extends Application {
         Button showBaggageBtn = createStyledButton("Show All Baggage", "🧳", "#48D1CC");
         showBaggageBtn.setOnAction(e -> showAllBaggageWindow());
 
+        Button revenueDashboardBtn = createStyledButton("Revenue Dashboard", "📈", "#2E8B57");
+        revenueDashboardBtn.setOnAction(e -> showRevenueDashboardWindow());
+
         GridPane buttonGrid = new GridPane();
         buttonGrid.setHgap(15);
         buttonGrid.setVgap(15);
@@ -100,7 +122,7 @@ public class AirlineBookingSystemFrontend extends Application {
         buttonGrid.addRow(0, bookTicketBtn, viewReservationsBtn, addBaggageBtn);
         buttonGrid.addRow(1, viewFlightsBtn, viewPassengersBtn, viewPaymentsBtn);
         buttonGrid.addRow(2, cancelTicketBtn, updatePassengerBtn, checkAvailabilityBtn);
-        buttonGrid.add(showBaggageBtn, 0, 3, 3, 1);
+        buttonGrid.addRow(3, showBaggageBtn, revenueDashboardBtn);
 
         vbox.getChildren().addAll(title, buttonGrid);
         return vbox;
@@ -149,13 +171,9 @@ public class AirlineBookingSystemFrontend extends Application {
 
         DatePicker journeyDatePicker = new DatePicker();
         LocalDate today = LocalDate.now();
-        journeyDatePicker.setDayCellFactory(picker -> new DateCell() {
-            @Override
-            public void updateItem(LocalDate date, boolean empty) {
-                super.updateItem(date, empty);
-                setDisable(empty || date.isBefore(today) || date.isAfter(today.plusMonths(3)));
-            }
-        });
+        journeyDatePicker.setDayCellFactory(fareCalendarCells(today, Collections.emptyMap()));
+        Label fareCalendarLabel = new Label();
+        AtomicReference<CompletableFuture<List<FareCalendarDay>>> pendingCalendar = new AtomicReference<>();
 
         ComboBox<String> originComboBox = new ComboBox<>();
         ComboBox<String> destinationComboBox = new ComboBox<>();
@@ -181,11 +199,7 @@ public class AirlineBookingSystemFrontend extends Application {
         departureCol.setCellValueFactory(new PropertyValueFactory<>("departureTime"));
         arrivalCol.setCellValueFactory(new PropertyValueFactory<>("arrivalTime"));
         priceCol.setCellValueFactory(new PropertyValueFactory<>("price"));
-        seatsCol.setCellValueFactory(cellData -> {
-            return Bindings.createIntegerBinding(() ->
-                    backendService.getAvailableSeats(cellData.getValue().getFlightId(),
-                            Date.valueOf(journeyDatePicker.getValue()))).asObject();
-        });
+        seatsCol.setCellValueFactory(new PropertyValueFactory<>("availableSeats"));
 
         flightsTable.getColumns().addAll(flightIdCol, airlineCol, routeCol, departureCol, arrivalCol, priceCol, seatsCol);
 
@@ -217,11 +231,13 @@ public class AirlineBookingSystemFrontend extends Application {
         Button selectFlightBtn = new Button("Select Flight");
         Button addPassengerBtn = new Button("Add Passenger");
         Button bookTicketBtn = new Button("Book Ticket");
+        AtomicReference<CompletableFuture<List<Flight>>> pendingSearch = new AtomicReference<>();
+        AtomicReference<String> bookingRequestKey = new AtomicReference<>(UUID.randomUUID().toString());
 
         GridPane searchPane = new GridPane();
         searchPane.setHgap(10);
         searchPane.setVgap(10);
-        searchPane.addRow(0, new Label("Journey Date:"), journeyDatePicker);
+        searchPane.addRow(0, new Label("Journey Date:"), journeyDatePicker, fareCalendarLabel);
         searchPane.addRow(1, new Label("Origin:"), originComboBox);
         searchPane.addRow(2, new Label("Destination:"), destinationComboBox, searchFlightsBtn);
 
@@ -269,16 +285,57 @@ public class AirlineBookingSystemFrontend extends Application {
                 return;
             }
 
-            try {
-                List<Flight> flights = backendService.searchFlights(
-                        origin,
-                        destination,
-                        Date.valueOf(journeyDatePicker.getValue())
-                );
-                flightsTable.setItems(FXCollections.observableArrayList(flights));
-            } catch (Exception ex) {
-                ex.printStackTrace();
-                showAlert("Error", "Failed to search flights: " + ex.getMessage());
+            cancelPending(pendingSearch);
+            CompletableFuture<List<Flight>> search = asyncBackend.searchFlights(
+                    origin,
+                    destination,
+                    Date.valueOf(journeyDatePicker.getValue())
+            );
+            pendingSearch.set(search);
+            runAsync(search,
+                    flights -> flightsTable.setItems(FXCollections.observableArrayList(flights)),
+                    "Failed to search flights: ");
+        });
+
+        ChangeListener<String> routeListener = (obs, oldRoute, newRoute) -> {
+            cancelPending(pendingCalendar);
+            journeyDatePicker.setDayCellFactory(fareCalendarCells(today, Collections.emptyMap()));
+            fareCalendarLabel.setText("");
+            if (originComboBox.getValue() == null || destinationComboBox.getValue() == null) {
+                return;
+            }
+            String origin = originComboBox.getValue().split(" - ")[0];
+            String destination = destinationComboBox.getValue().split(" - ")[0];
+            if (origin.equals(destination)) {
+                return;
+            }
+
+            CompletableFuture<List<FareCalendarDay>> calendar = asyncBackend.getFareCalendar(
+                    origin, destination, Date.valueOf(today), Date.valueOf(today.plusMonths(3)));
+            pendingCalendar.set(calendar);
+            runAsync(calendar, days -> {
+                Map<LocalDate, FareCalendarDay> fares = new HashMap<>();
+                FareCalendarDay cheapest = null;
+                for (FareCalendarDay day : days) {
+                    fares.put(day.getJourneyDate(), day);
+                    if (cheapest == null || day.getLowestFare() < cheapest.getLowestFare()) {
+                        cheapest = day;
+                    }
+                }
+                journeyDatePicker.setDayCellFactory(fareCalendarCells(today, fares));
+                fareCalendarLabel.setText(cheapest == null
+                        ? "No seats in the next 3 months"
+                        : String.format("Lowest fare ₹%.2f on %s", cheapest.getLowestFare(), cheapest.getJourneyDate()));
+            }, "Failed to load fare calendar: ");
+        };
+        originComboBox.valueProperty().addListener(routeListener);
+        destinationComboBox.valueProperty().addListener(routeListener);
+
+        journeyDatePicker.valueProperty().addListener((obs, oldDate, newDate) -> {
+            cancelPending(pendingSearch);
+            flightsTable.getItems().clear();
+            if (newDate != null && originComboBox.getValue() != null && destinationComboBox.getValue() != null) {
+                searchFlightsBtn.fire();
             }
         });
 
@@ -329,15 +386,18 @@ public class AirlineBookingSystemFrontend extends Application {
                 return;
             }
 
-            try {
-                String pnr = backendService.bookTicket(
-                        selectedFlight.getFlightId(),
-                        Date.valueOf(journeyDatePicker.getValue()),
-                        passengers,
-                        paymentMethodComboBox.getValue()
-                );
-
-                double totalAmount = selectedFlight.getPrice() * passengers.size();
+            double totalAmount = selectedFlight.getPrice() * passengers.size();
+            bookTicketBtn.setDisable(true);
+            CompletableFuture<String> booking = asyncBackend.bookTicket(
+                    selectedFlight.getFlightId(),
+                    Date.valueOf(journeyDatePicker.getValue()),
+                    FXCollections.observableArrayList(passengers),
+                    paymentMethodComboBox.getValue(),
+                    bookingRequestKey.get()
+            );
+            booking.whenComplete((pnr, error) -> Platform.runLater(() -> bookTicketBtn.setDisable(false)));
+            runAsync(booking, pnr -> {
+                bookingRequestKey.set(UUID.randomUUID().toString());
                 showAlert("Success", "Booking Successful!\nPNR: " + pnr +
                         "\nTotal Paid: ₹" + String.format("%.2f", totalAmount));
 
@@ -345,17 +405,31 @@ public class AirlineBookingSystemFrontend extends Application {
                 passengersTable.setItems(passengers);
                 totalAmountLabel.setText("₹0.00");
                 paymentMethodComboBox.getSelectionModel().clearSelection();
-
-            } catch (Exception ex) {
-                showAlert("Error", "Booking failed: " + ex.getMessage());
-                ex.printStackTrace();
-            }
+            }, "Booking failed: ");
         });
 
         stage.setScene(new Scene(root, 800, 600));
         stage.show();
     }
 
+    private static Callback<DatePicker, DateCell> fareCalendarCells(LocalDate today, Map<LocalDate, FareCalendarDay> fares) {
+        return picker -> new DateCell() {
+            @Override
+            public void updateItem(LocalDate date, boolean empty) {
+                super.updateItem(date, empty);
+                setDisable(empty || date.isBefore(today) || date.isAfter(today.plusMonths(3)));
+                FareCalendarDay fare = empty ? null : fares.get(date);
+                if (fare == null) {
+                    setTooltip(null);
+                    return;
+                }
+                setText(String.format("%d%n₹%.0f", date.getDayOfMonth(), fare.getLowestFare()));
+                setTooltip(new Tooltip(String.format("%d flight(s), %d seat(s) from ₹%.2f",
+                        fare.getFlights(), fare.getAvailableSeats(), fare.getLowestFare())));
+            }
+        };
+    }
+
     private void showViewReservationsWindow() {
         Stage stage = new Stage();
         stage.setTitle("View Reservations");
@@ -377,13 +451,10 @@ public class AirlineBookingSystemFrontend extends Application {
 
         table.getColumns().addAll(pnrCol, passengerIdCol, flightIdCol, seatCol, bookingDateCol, journeyDateCol);
 
-        try {
-            List<Reservation> reservations = backendService.getAllReservations();
-            table.setItems(FXCollections.observableArrayList(reservations));
-        } catch (Exception e) {
-            e.printStackTrace();
-            showAlert("Error", "Failed to load reservations: " + e.getMessage());
-        }
+        new PagedTableLoader<>(table,
+                last -> asyncBackend.getReservationsPage(
+                        last == null ? null : last.getPnr(), last == null ? 0 : last.getPassengerId(), PAGE_SIZE),
+                "Failed to load reservations: ").start();
 
         stage.setScene(new Scene(new VBox(table), 800, 600));
         stage.show();
@@ -452,8 +523,7 @@ public class AirlineBookingSystemFrontend extends Application {
                 return;
             }
 
-            try {
-                List<PassengerComboItem> passengers = backendService.getPassengersForPNR(pnr);
+            runAsync(asyncBackend.getPassengersForPNR(pnr), passengers -> {
                 if (passengers.isEmpty()) {
                     showAlert("Error", "PNR not found or invalid");
                     return;
@@ -462,38 +532,35 @@ public class AirlineBookingSystemFrontend extends Application {
                 passengerComboBox.getItems().clear();
                 passengerComboBox.getItems().addAll(passengers);
 
-
-                List<Baggage> baggageList = backendService.getBaggageForPNR(pnr);
-                baggageTable.setItems(FXCollections.observableArrayList(baggageList));
-
-            } catch (Exception ex) {
-                ex.printStackTrace();
-                showAlert("Error", "Database error: " + ex.getMessage());
-            }
+                runAsync(asyncBackend.getBaggageForPNR(pnr),
+                        baggageList -> baggageTable.setItems(FXCollections.observableArrayList(baggageList)),
+                        "Database error: ");
+            }, "Database error: ");
         });
 
 
         ChangeListener<Object> updateRemainingWeightListener = (obs, oldVal, newVal) -> {
             if (passengerComboBox.getValue() != null && baggageTypeToggleGroup.getSelectedToggle() != null) {
-                try {
-                    int passengerId = passengerComboBox.getValue().getId();
-                    String pnr = pnrField.getText();
-                    boolean isStudent = studentToggleGroup.getSelectedToggle() == studentYes;
-                    String type = ((RadioButton)baggageTypeToggleGroup.getSelectedToggle()).getText();
-
-
-                    double existingWeight = backendService.getTotalBaggageWeight(passengerId, pnr, type);
-
-                    double maxWeight = type.equals("Cabin") ? 7.0 : (isStudent ? 25.0 : 15.0);
-                    double remaining = maxWeight - existingWeight;
-
-                    remainingWeightLabel.setText(String.format("Remaining allowed weight: %.1f kg (Max: %.1f kg, Used: %.1f kg)",
-                            remaining, maxWeight, existingWeight));
-                    remainingWeightLabel.setTextFill(remaining > 0 ? Color.GREEN : Color.RED);
-                } catch (Exception ex) {
-                    ex.printStackTrace();
-                    remainingWeightLabel.setText("Error calculating remaining weight");
-                }
+                int passengerId = passengerComboBox.getValue().getId();
+                String pnr = pnrField.getText();
+                boolean isStudent = studentToggleGroup.getSelectedToggle() == studentYes;
+                String type = ((RadioButton)baggageTypeToggleGroup.getSelectedToggle()).getText();
+
+                asyncBackend.getTotalBaggageWeight(passengerId, pnr, type).whenComplete((existingWeight, error) ->
+                        Platform.runLater(() -> {
+                            if (error != null) {
+                                error.printStackTrace();
+                                remainingWeightLabel.setText("Error calculating remaining weight");
+                                return;
+                            }
+
+                            double maxWeight = BaggageAllowance.limitFor(type, isStudent);
+                            double remaining = maxWeight - existingWeight;
+
+                            remainingWeightLabel.setText(String.format("Remaining allowed weight: %.1f kg (Max: %.1f kg, Used: %.1f kg)",
+                                    remaining, maxWeight, existingWeight));
+                            remainingWeightLabel.setTextFill(remaining > 0 ? Color.GREEN : Color.RED);
+                        }));
             }
         };
 
@@ -523,27 +590,14 @@ public class AirlineBookingSystemFrontend extends Application {
 
             String pnr = pnrField.getText();
 
-            try {
-
-                double existingWeight = backendService.getTotalBaggageWeight(passengerId, pnr, type);
-
-                double maxWeight = type.equals("Cabin") ? 7.0 : (isStudent ? 25.0 : 15.0);
-                double remaining = maxWeight - existingWeight;
-
-                if (weight > remaining) {
-                    showAlert("Error", String.format("Cannot add %.1f kg. Remaining allowed weight for %s baggage is %.1f kg (Max: %.1f kg, Used: %.1f kg)",
-                            weight, type.toLowerCase(), remaining, maxWeight, existingWeight));
-                    return;
-                }
-
-                backendService.addBaggage(passengerId, pnr, weight, type);
+            runAsync(asyncBackend.addBaggage(passengerId, pnr, weight, type, isStudent), ignored -> {
                 showAlert("Success", "Baggage added successfully");
-                searchBtn.fire();
                 weightField.clear();
-            } catch (Exception ex) {
-                ex.printStackTrace();
-                showAlert("Error", "Database error: " + ex.getMessage());
-            }
+                updateRemainingWeightListener.changed(null, null, null);
+                runAsync(asyncBackend.getBaggageForPNR(pnr),
+                        baggageList -> baggageTable.setItems(FXCollections.observableArrayList(baggageList)),
+                        "Database error: ");
+            }, "Baggage not added: ");
         });
 
         stage.setScene(new Scene(root, 600, 400));
@@ -589,13 +643,10 @@ public class AirlineBookingSystemFrontend extends Application {
 
         table.getColumns().addAll(flightIdCol, airlineCol, originCol, destCol, departureCol, arrivalCol);
 
-        try {
-            List<Flight> flights = backendService.getAllFlights();
-            table.setItems(FXCollections.observableArrayList(flights));
-        } catch (Exception e) {
-            e.printStackTrace();
-            showAlert("Error", "Failed to load flights: " + e.getMessage());
-        }
+        new PagedTableLoader<>(table,
+                last -> asyncBackend.getFlightsPage(
+                        last == null ? null : last.getDepartureTime(), last == null ? 0 : last.getFlightId(), PAGE_SIZE),
+                "Failed to load flights: ").start();
 
         stage.setScene(new Scene(new VBox(table), 800, 600));
         stage.show();
@@ -621,24 +672,15 @@ public class AirlineBookingSystemFrontend extends Application {
         nameCol.setCellValueFactory(new PropertyValueFactory<>("name"));
         emailCol.setCellValueFactory(new PropertyValueFactory<>("email"));
         phoneCol.setCellValueFactory(new PropertyValueFactory<>("phone"));
-        seatCol.setCellValueFactory(cellData -> {
-            return Bindings.createStringBinding(() ->
-                    backendService.getSeatNumberForPassenger(cellData.getValue().getPassengerId()));
-        });
-        pnrCol.setCellValueFactory(cellData -> {
-            return Bindings.createStringBinding(() ->
-                    backendService.getPnrForPassenger(cellData.getValue().getPassengerId()));
-        });
+        seatCol.setCellValueFactory(new PropertyValueFactory<>("seatNo"));
+        pnrCol.setCellValueFactory(new PropertyValueFactory<>("pnr"));
 
         table.getColumns().addAll(nameCol, emailCol, phoneCol, seatCol, pnrCol);
 
 
-        try {
-            List<Integer> flightIds = backendService.getAllFlightIds();
-            flightComboBox.getItems().addAll(flightIds);
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        runAsync(asyncBackend.getAllFlightIds(),
+                flightIds -> flightComboBox.getItems().addAll(flightIds),
+                "Failed to load flights: ");
 
         searchBtn.setOnAction(e -> {
             if (flightComboBox.getValue() == null || datePicker.getValue() == null) {
@@ -646,16 +688,11 @@ public class AirlineBookingSystemFrontend extends Application {
                 return;
             }
 
-            try {
-                List<Passenger> passengers = backendService.getPassengersForFlight(
-                        flightComboBox.getValue(),
-                        Date.valueOf(datePicker.getValue())
-                );
-                table.setItems(FXCollections.observableArrayList(passengers));
-            } catch (Exception ex) {
-                ex.printStackTrace();
-                showAlert("Error", "Failed to load passengers: " + ex.getMessage());
-            }
+            runAsync(asyncBackend.getPassengersForFlight(
+                            flightComboBox.getValue(),
+                            Date.valueOf(datePicker.getValue())),
+                    passengers -> table.setItems(FXCollections.observableArrayList(passengers)),
+                    "Failed to load passengers: ");
         });
 
         root.getChildren().addAll(
@@ -687,13 +724,9 @@ public class AirlineBookingSystemFrontend extends Application {
 
         table.getColumns().addAll(paymentIdCol, pnrCol, amountCol, methodCol, dateCol);
 
-        try {
-            List<Payment> payments = backendService.getAllPayments();
-            table.setItems(FXCollections.observableArrayList(payments));
-        } catch (Exception e) {
-            e.printStackTrace();
-            showAlert("Error", "Failed to load payments: " + e.getMessage());
-        }
+        new PagedTableLoader<>(table,
+                last -> asyncBackend.getPaymentsPage(last == null ? 0 : last.getPaymentId(), PAGE_SIZE),
+                "Failed to load payments: ").start();
 
         stage.setScene(new Scene(new VBox(table), 800, 600));
         stage.show();
@@ -733,13 +766,9 @@ public class AirlineBookingSystemFrontend extends Application {
                 return;
             }
 
-            try {
-                List<Reservation> reservations = backendService.getReservationsByPNR(pnr);
-                table.setItems(FXCollections.observableArrayList(reservations));
-            } catch (Exception ex) {
-                ex.printStackTrace();
-                showAlert("Error", "Failed to search reservations: " + ex.getMessage());
-            }
+            runAsync(asyncBackend.getReservationsByPNR(pnr),
+                    reservations -> table.setItems(FXCollections.observableArrayList(reservations)),
+                    "Failed to search reservations: ");
         });
 
         cancelBtn.setOnAction(e -> {
@@ -749,14 +778,13 @@ public class AirlineBookingSystemFrontend extends Application {
                 return;
             }
 
-            try {
-                backendService.cancelTicket(pnr);
+            cancelBtn.setDisable(true);
+            CompletableFuture<Void> cancellation = asyncBackend.cancelTicket(pnr);
+            cancellation.whenComplete((ignored, error) -> Platform.runLater(() -> cancelBtn.setDisable(false)));
+            runAsync(cancellation, ignored -> {
                 showAlert("Success", "Ticket cancellation successful for PNR: " + pnr);
                 searchBtn.fire();
-            } catch (Exception ex) {
-                ex.printStackTrace();
-                showAlert("Error", "Cancellation failed: " + ex.getMessage());
-            }
+            }, "Cancellation failed: ");
         });
 
         root.getChildren().addAll(
@@ -827,17 +855,14 @@ public class AirlineBookingSystemFrontend extends Application {
                 return;
             }
 
-            try {
-                Map<Integer, String> passengerMap = backendService.getPassengersForPNRUPDATE(pnr);
+            runAsync(asyncBackend.getPassengersForPNRUPDATE(pnr), passengerMap -> {
                 passengerComboBox.getItems().clear();
                 passengerComboBox.getItems().addAll(passengerMap.entrySet());
 
                 if (passengerComboBox.getItems().isEmpty()) {
                     showAlert("Info", "No passengers found for PNR: " + pnr);
                 }
-            } catch (Exception ex) {
-                showAlert("Error", "Failed to load passengers: " + ex.getMessage());
-            }
+            }, "Failed to load passengers: ");
         });
 
 
@@ -857,15 +882,18 @@ public class AirlineBookingSystemFrontend extends Application {
             String detailType = ((RadioButton) detailGroup.getSelectedToggle()).getText();
             String newValue = newValueField.getText().trim();
 
-            try {
-                backendService.updatePassengerDetails(passengerId, detailType, newValue);
-                showAlert("Success", "Details updated successfully");
-                newValueField.clear();
-            } catch (IllegalStateException ex) {
-                showAlert("Info", ex.getMessage());
-            } catch (Exception ex) {
-                showAlert("Error", "Update failed: " + ex.getMessage());
-            }
+            asyncBackend.updatePassengerDetails(passengerId, detailType, newValue).whenComplete((ignored, error) ->
+                    Platform.runLater(() -> {
+                        Throwable cause = unwrap(error);
+                        if (cause == null) {
+                            showAlert("Success", "Details updated successfully");
+                            newValueField.clear();
+                        } else if (cause instanceof IllegalStateException) {
+                            showAlert("Info", cause.getMessage());
+                        } else {
+                            showAlert("Error", "Update failed: " + cause.getMessage());
+                        }
+                    }));
         });
 
 
@@ -899,6 +927,7 @@ public class AirlineBookingSystemFrontend extends Application {
         ComboBox<String> destinationComboBox = new ComboBox<>();
         DatePicker datePicker = new DatePicker();
         Button searchBtn = new Button("Search");
+        Label summaryLabel = new Label();
         TableView<FlightAvailability> table = new TableView<>();
         TableColumn<FlightAvailability, Integer> flightIdCol = new TableColumn<>("Flight ID");
         TableColumn<FlightAvailability, String> airlineCol = new TableColumn<>("Airline");
@@ -932,17 +961,16 @@ public class AirlineBookingSystemFrontend extends Application {
                 return;
             }
 
-            try {
-                List<FlightAvailability> flights = backendService.checkFlightAvailability(
-                        origin,
-                        destination,
-                        Date.valueOf(datePicker.getValue())
-                );
-                table.setItems(FXCollections.observableArrayList(flights));
-            } catch (Exception ex) {
-                ex.printStackTrace();
-                showAlert("Error", "Failed to check availability: " + ex.getMessage());
-            }
+            Date journeyDate = Date.valueOf(datePicker.getValue());
+            runAsync(asyncBackend.getRouteAvailability(origin, destination, journeyDate),
+                    summary -> {
+                        summaryLabel.setText(summary.getFlights() == 0
+                                ? "No flights with seats left on this route for the selected date"
+                                : String.format("%d flight(s), %d seat(s) available, fares from ₹%.2f",
+                                        summary.getFlights(), summary.getAvailableSeats(), summary.getMinPrice()));
+                        table.setItems(FXCollections.observableArrayList(summary.getFlightAvailability()));
+                    },
+                    "Failed to check availability: ");
         });
 
         root.getChildren().addAll(
@@ -953,6 +981,7 @@ public class AirlineBookingSystemFrontend extends Application {
                     addRow(1, new Label("Destination:"), destinationComboBox);
                     addRow(2, new Label("Date:"), datePicker, searchBtn);
                 }},
+                summaryLabel,
                 table
         );
 
@@ -979,28 +1008,177 @@ public class AirlineBookingSystemFrontend extends Application {
 
         table.getColumns().addAll(idCol, passengerIdCol, pnrCol, weightCol, typeCol);
 
-        try {
-            List<Baggage> baggageList = backendService.getAllBaggage();
-            table.setItems(FXCollections.observableArrayList(baggageList));
-        } catch (Exception e) {
-            e.printStackTrace();
-            showAlert("Error", "Failed to load baggage: " + e.getMessage());
-        }
+        new PagedTableLoader<>(table,
+                last -> asyncBackend.getBaggagePage(last == null ? 0 : last.getBaggageId(), PAGE_SIZE),
+                "Failed to load baggage: ").start();
 
         stage.setScene(new Scene(new VBox(table), 800, 600));
         stage.show();
     }
 
+    private void showRevenueDashboardWindow() {
+        Stage stage = new Stage();
+        stage.setTitle("Revenue Dashboard");
+
+        VBox root = new VBox(10);
+        root.setPadding(new Insets(15));
+
+        LocalDate today = LocalDate.now();
+        DatePicker fromPicker = new DatePicker(today.withDayOfMonth(1));
+        DatePicker toPicker = new DatePicker(today.withDayOfMonth(today.lengthOfMonth()));
+        ComboBox<RevenueAnalytics.Dimension> dimensionComboBox = new ComboBox<>(
+                FXCollections.observableArrayList(RevenueAnalytics.Dimension.values()));
+        dimensionComboBox.setValue(RevenueAnalytics.Dimension.ROUTE);
+        Button refreshBtn = new Button("Refresh");
+        Label totalsLabel = new Label();
+
+        TableView<RevenueSummary> table = new TableView<>();
+        TableColumn<RevenueSummary, String> labelCol = new TableColumn<>("Group");
+        TableColumn<RevenueSummary, Integer> flightsCol = new TableColumn<>("Flights");
+        TableColumn<RevenueSummary, Integer> soldCol = new TableColumn<>("Seats Sold");
+        TableColumn<RevenueSummary, Integer> capacityCol = new TableColumn<>("Capacity");
+        TableColumn<RevenueSummary, String> loadFactorCol = new TableColumn<>("Load Factor");
+        TableColumn<RevenueSummary, String> revenueCol = new TableColumn<>("Revenue");
+
+        labelCol.setCellValueFactory(new PropertyValueFactory<>("label"));
+        flightsCol.setCellValueFactory(new PropertyValueFactory<>("flights"));
+        soldCol.setCellValueFactory(new PropertyValueFactory<>("seatsSold"));
+        capacityCol.setCellValueFactory(new PropertyValueFactory<>("capacity"));
+        loadFactorCol.setCellValueFactory(cellData ->
+                Bindings.createStringBinding(() -> String.format("%.1f%%", cellData.getValue().getLoadFactor() * 100)));
+        revenueCol.setCellValueFactory(cellData ->
+                Bindings.createStringBinding(() -> String.format("₹%.2f", cellData.getValue().getRevenue())));
+        table.getColumns().addAll(labelCol, flightsCol, soldCol, capacityCol, loadFactorCol, revenueCol);
+
+        AtomicReference<CompletableFuture<List<RevenueSummary>>> pendingSummary = new AtomicReference<>();
+        refreshBtn.setOnAction(e -> {
+            if (fromPicker.getValue() == null || toPicker.getValue() == null || toPicker.getValue().isBefore(fromPicker.getValue())) {
+                showAlert("Error", "Please select a valid date range");
+                return;
+            }
+            cancelPending(pendingSummary);
+            CompletableFuture<List<RevenueSummary>> summary = asyncBackend.getRevenueSummary(
+                    dimensionComboBox.getValue(), Date.valueOf(fromPicker.getValue()), Date.valueOf(toPicker.getValue()));
+            pendingSummary.set(summary);
+            runAsync(summary, rows -> {
+                table.setItems(FXCollections.observableArrayList(rows));
+                long sold = 0;
+                long capacity = 0;
+                double revenue = 0;
+                for (RevenueSummary row : rows) {
+                    sold += row.getSeatsSold();
+                    capacity += row.getCapacity();
+                    revenue += row.getRevenue();
+                }
+                totalsLabel.setText(String.format("Total revenue ₹%.2f, %d of %d seats sold, load factor %.1f%%",
+                        revenue, sold, capacity, capacity == 0 ? 0 : sold * 100.0 / capacity));
+            }, "Failed to load revenue: ");
+        });
+        dimensionComboBox.valueProperty().addListener((obs, oldValue, newValue) -> refreshBtn.fire());
+
+        root.getChildren().addAll(
+                new HBox(10, new Label("From:"), fromPicker, new Label("To:"), toPicker),
+                new HBox(10, new Label("Group by:"), dimensionComboBox, refreshBtn),
+                totalsLabel,
+                table
+        );
+        refreshBtn.fire();
+
+        stage.setScene(new Scene(root, 800, 600));
+        stage.show();
+    }
+
     private void initializeAirportComboBoxes(ComboBox<String> origin, ComboBox<String> destination) {
-        try {
-            List<String> airports = backendService.getAllAirports();
+        runAsync(asyncBackend.getAllAirports(), airports -> {
             origin.getItems().addAll(airports);
             destination.getItems().addAll(airports);
-        } catch (Exception e) {
-            e.printStackTrace();
+        }, "Failed to load airports: ");
+    }
+
+    private <T> void runAsync(CompletableFuture<T> future, Consumer<T> onSuccess, String errorMessage) {
+        future.whenComplete((result, error) -> Platform.runLater(() -> {
+            Throwable cause = unwrap(error);
+            if (cause instanceof CancellationException) {
+                return;
+            }
+            if (cause != null) {
+                cause.printStackTrace();
+                showAlert("Error", errorMessage + cause.getMessage());
+                return;
+            }
+            onSuccess.accept(result);
+        }));
+    }
+
+    private class PagedTableLoader<T> {
+        private final TableView<T> table;
+        private final Function<T, CompletableFuture<List<T>>> nextPage;
+        private final String errorMessage;
+        private final ObservableList<T> items = FXCollections.observableArrayList();
+        private boolean loading;
+        private boolean exhausted;
+
+        PagedTableLoader(TableView<T> table, Function<T, CompletableFuture<List<T>>> nextPage, String errorMessage) {
+            this.table = table;
+            this.nextPage = nextPage;
+            this.errorMessage = errorMessage;
+        }
+
+        void start() {
+            table.setItems(items);
+            table.skinProperty().addListener((obs, oldSkin, newSkin) -> Platform.runLater(this::attachScrollListener));
+            loadNext();
+        }
+
+        private void attachScrollListener() {
+            for (Node node : table.lookupAll(".scroll-bar")) {
+                if (node instanceof ScrollBar && ((ScrollBar) node).getOrientation() == Orientation.VERTICAL) {
+                    ScrollBar scrollBar = (ScrollBar) node;
+                    scrollBar.valueProperty().addListener((obs, oldValue, newValue) -> {
+                        if (newValue.doubleValue() >= scrollBar.getMax() * 0.9) {
+                            loadNext();
+                        }
+                    });
+                }
+            }
+        }
+
+        private void loadNext() {
+            if (loading || exhausted) {
+                return;
+            }
+            loading = true;
+            T last = items.isEmpty() ? null : items.get(items.size() - 1);
+            nextPage.apply(last).whenComplete((page, error) -> Platform.runLater(() -> {
+                loading = false;
+                if (error != null) {
+                    Throwable cause = unwrap(error);
+                    cause.printStackTrace();
+                    showAlert("Error", errorMessage + cause.getMessage());
+                    return;
+                }
+                if (page.size() < PAGE_SIZE) {
+                    exhausted = true;
+                }
+                items.addAll(page);
+            }));
         }
     }
 
+    private static void cancelPending(AtomicReference<? extends CompletableFuture<?>> pending) {
+        CompletableFuture<?> previous = pending.getAndSet(null);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        while (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
     private boolean isValidEmail(String email) {
         String emailRegex = "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.com$";
         return Pattern.matches(emailRegex, email);
@@ -1024,18 +1202,28 @@ public class AirlineBookingSystemFrontend extends Application {
         private String name;
         private String email;
         private String phone;
+        private String seatNo;
+        private String pnr;
 
         public Passenger(int passengerId, String name, String email, String phone) {
+            this(passengerId, name, email, phone, "", "");
+        }
+
+        public Passenger(int passengerId, String name, String email, String phone, String seatNo, String pnr) {
             this.passengerId = passengerId;
             this.name = name;
             this.email = email;
             this.phone = phone;
+            this.seatNo = seatNo;
+            this.pnr = pnr;
         }
 
         public int getPassengerId() { return passengerId; }
         public String getName() { return name; }
         public String getEmail() { return email; }
         public String getPhone() { return phone; }
+        public String getSeatNo() { return seatNo; }
+        public String getPnr() { return pnr; }
     }
 
     public static class Flight {
@@ -1046,9 +1234,15 @@ public class AirlineBookingSystemFrontend extends Application {
         private Time departureTime;
         private Time arrivalTime;
         private double price;
+        private int availableSeats;
 
         public Flight(int flightId, String airline, String origin, String destination,
                       Time departureTime, Time arrivalTime, double price) {
+            this(flightId, airline, origin, destination, departureTime, arrivalTime, price, 0);
+        }
+
+        public Flight(int flightId, String airline, String origin, String destination,
+                      Time departureTime, Time arrivalTime, double price, int availableSeats) {
             this.flightId = flightId;
             this.airline = airline;
             this.origin = origin;
@@ -1056,6 +1250,7 @@ public class AirlineBookingSystemFrontend extends Application {
             this.departureTime = departureTime;
             this.arrivalTime = arrivalTime;
             this.price = price;
+            this.availableSeats = availableSeats;
         }
 
         public int getFlightId() { return flightId; }
@@ -1065,6 +1260,7 @@ public class AirlineBookingSystemFrontend extends Application {
         public Time getDepartureTime() { return departureTime; }
         public Time getArrivalTime() { return arrivalTime; }
         public double getPrice() { return price; }
+        public int getAvailableSeats() { return availableSeats; }
     }
 
     public static class Reservation {
@@ -1141,6 +1337,80 @@ public class AirlineBookingSystemFrontend extends Application {
         public String getType() { return type; }
     }
 
+    public static class RevenueSummary {
+        private String label;
+        private int flights;
+        private int seatsSold;
+        private int capacity;
+        private double revenue;
+
+        public RevenueSummary(String label, int flights, int seatsSold, int capacity, double revenue) {
+            this.label = label;
+            this.flights = flights;
+            this.seatsSold = seatsSold;
+            this.capacity = capacity;
+            this.revenue = revenue;
+        }
+
+        public String getLabel() { return label; }
+        public int getFlights() { return flights; }
+        public int getSeatsSold() { return seatsSold; }
+        public int getCapacity() { return capacity; }
+        public double getRevenue() { return revenue; }
+
+        public double getLoadFactor() {
+            return capacity == 0 ? 0 : (double) seatsSold / capacity;
+        }
+    }
+
+    public static class FareCalendarDay {
+        private LocalDate journeyDate;
+        private double lowestFare;
+        private int availableSeats;
+        private int flights;
+
+        public FareCalendarDay(LocalDate journeyDate, double lowestFare, int availableSeats, int flights) {
+            this.journeyDate = journeyDate;
+            this.lowestFare = lowestFare;
+            this.availableSeats = availableSeats;
+            this.flights = flights;
+        }
+
+        public LocalDate getJourneyDate() { return journeyDate; }
+        public double getLowestFare() { return lowestFare; }
+        public int getAvailableSeats() { return availableSeats; }
+        public int getFlights() { return flights; }
+    }
+
+    public static class RouteAvailability {
+        private String origin;
+        private String destination;
+        private LocalDate journeyDate;
+        private int flights;
+        private int availableSeats;
+        private double minPrice;
+        private List<FlightAvailability> flightAvailability;
+
+        public RouteAvailability(String origin, String destination, LocalDate journeyDate, int flights,
+                                 int availableSeats, double minPrice, List<FlightAvailability> flightAvailability) {
+            this.origin = origin;
+            this.destination = destination;
+            this.journeyDate = journeyDate;
+            this.flights = flights;
+            this.availableSeats = availableSeats;
+            this.minPrice = minPrice;
+            this.flightAvailability = flightAvailability;
+        }
+
+        public String getOrigin() { return origin; }
+        public String getDestination() { return destination; }
+        public LocalDate getJourneyDate() { return journeyDate; }
+        public int getFlights() { return flights; }
+        public int getAvailableSeats() { return availableSeats; }
+        public double getMinPrice() { return minPrice; }
+        public List<FlightAvailability> getFlightAvailability() { return flightAvailability; }
+    }
+
     public static class FlightAvailability {
         private int flightId;
         private String airline;
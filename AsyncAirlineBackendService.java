@@ -0,0 +1,174 @@
+import javafx.collections.ObservableList;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+class AsyncAirlineBackendService {
+
+    private final AirlineBackendService backend;
+    private final ExecutorService executor;
+
+    AsyncAirlineBackendService(AirlineBackendService backend) {
+        this.backend = backend;
+        this.executor = createExecutor();
+    }
+
+    public AirlineBackendService getBackend() {
+        return backend;
+    }
+
+    public CompletableFuture<List<AirlineBookingSystemFrontend.Flight>> searchFlights(String origin, String destination, Date journeyDate) {
+        return submit(() -> backend.searchFlights(origin, destination, journeyDate));
+    }
+
+    public CompletableFuture<List<AirlineBookingSystemFrontend.FareCalendarDay>> getFareCalendar(String origin, String destination, Date fromDate, Date toDate) {
+        return submit(() -> backend.getFareCalendar(origin, destination, fromDate, toDate));
+    }
+
+    public CompletableFuture<List<AirlineBookingSystemFrontend.RevenueSummary>> getRevenueSummary(RevenueAnalytics.Dimension dimension, Date fromDate, Date toDate) {
+        return submit(() -> backend.getRevenueSummary(dimension, fromDate, toDate));
+    }
+
+    public CompletableFuture<String> bookTicket(int flightId, Date journeyDate, ObservableList<AirlineBookingSystemFrontend.Passenger> passengers,
+                                                String paymentMethod, String requestKey) {
+        return submit(() -> backend.bookTicket(flightId, journeyDate, passengers, paymentMethod, requestKey));
+    }
+
+    public CompletableFuture<List<AirlineBookingSystemFrontend.Reservation>> getAllReservations() {
+        return submit(backend::getAllReservations);
+    }
+
+    public CompletableFuture<Void> addBaggage(int passengerId, String pnr, double weight, String type, boolean student) {
+        return submit(() -> {
+            backend.addBaggage(passengerId, pnr, weight, type, student);
+            return null;
+        });
+    }
+
+    public CompletableFuture<List<AirlineBookingSystemFrontend.Baggage>> getBaggageForPNR(String pnr) {
+        return submit(() -> backend.getBaggageForPNR(pnr));
+    }
+
+    public CompletableFuture<List<AirlineBookingSystemFrontend.PassengerComboItem>> getPassengersForPNR(String pnr) {
+        return submit(() -> backend.getPassengersForPNR(pnr));
+    }
+
+    public CompletableFuture<Map<Integer, String>> getPassengersForPNRUPDATE(String pnr) {
+        return submit(() -> backend.getPassengersForPNRUPDATE(pnr));
+    }
+
+    public CompletableFuture<Double> getTotalBaggageWeight(int passengerId, String pnr, String type) {
+        return submit(() -> backend.getTotalBaggageWeight(passengerId, pnr, type));
+    }
+
+    public CompletableFuture<List<AirlineBookingSystemFrontend.Flight>> getAllFlights() {
+        return submit(backend::getAllFlights);
+    }
+
+    public CompletableFuture<List<Integer>> getAllFlightIds() {
+        return submit(backend::getAllFlightIds);
+    }
+
+    public CompletableFuture<List<AirlineBookingSystemFrontend.Passenger>> getPassengersForFlight(int flightId, Date journeyDate) {
+        return submit(() -> backend.getPassengersForFlight(flightId, journeyDate));
+    }
+
+    public CompletableFuture<List<AirlineBookingSystemFrontend.Payment>> getAllPayments() {
+        return submit(backend::getAllPayments);
+    }
+
+    public CompletableFuture<List<AirlineBookingSystemFrontend.Reservation>> getReservationsByPNR(String pnr) {
+        return submit(() -> backend.getReservationsByPNR(pnr));
+    }
+
+    public CompletableFuture<Void> cancelTicket(String pnr) {
+        return submit(() -> {
+            backend.cancelTicket(pnr);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> updatePassengerDetails(int passengerId, String detailType, String newValue) {
+        return submit(() -> {
+            backend.updatePassengerDetails(passengerId, detailType, newValue);
+            return null;
+        });
+    }
+
+    public CompletableFuture<List<AirlineBookingSystemFrontend.FlightAvailability>> checkFlightAvailability(String origin, String destination, Date date) {
+        return submit(() -> backend.checkFlightAvailability(origin, destination, date));
+    }
+
+    public CompletableFuture<AirlineBookingSystemFrontend.RouteAvailability> getRouteAvailability(String origin, String destination, Date date) {
+        return submit(() -> backend.getRouteAvailability(origin, destination, date));
+    }
+
+    public CompletableFuture<List<AirlineBookingSystemFrontend.Baggage>> getAllBaggage() {
+        return submit(backend::getAllBaggage);
+    }
+
+    public CompletableFuture<List<AirlineBookingSystemFrontend.Reservation>> getReservationsPage(String afterPnr, int afterPassengerId, int limit) {
+        return submit(() -> backend.getReservationsPage(afterPnr, afterPassengerId, limit));
+    }
+
+    public CompletableFuture<List<AirlineBookingSystemFrontend.Payment>> getPaymentsPage(int afterPaymentId, int limit) {
+        return submit(() -> backend.getPaymentsPage(afterPaymentId, limit));
+    }
+
+    public CompletableFuture<List<AirlineBookingSystemFrontend.Baggage>> getBaggagePage(int afterBaggageId, int limit) {
+        return submit(() -> backend.getBaggagePage(afterBaggageId, limit));
+    }
+
+    public CompletableFuture<List<AirlineBookingSystemFrontend.Flight>> getFlightsPage(Time afterDepartureTime, int afterFlightId, int limit) {
+        return submit(() -> backend.getFlightsPage(afterDepartureTime, afterFlightId, limit));
+    }
+
+    public CompletableFuture<List<String>> getAllAirports() {
+        return submit(backend::getAllAirports);
+    }
+
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return task.call();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static ExecutorService createExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger counter = new AtomicInteger();
+            return Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(r, "backend-worker-" + counter.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+}
@@ -0,0 +1,209 @@
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+
+class AvailabilityRollout {
+
+    static final int HORIZON_DAYS = Integer.getInteger("rollout.horizonDays", 365);
+    static final int THREADS = Integer.getInteger("rollout.threads", 4);
+    static final int BATCH_SIZE = Integer.getInteger("rollout.batchSize", 500);
+
+    private final ConnectionPool pool;
+    private final int threads;
+    private final int batchSize;
+
+    AvailabilityRollout(ConnectionPool pool, int threads, int batchSize) {
+        this.pool = pool;
+        this.threads = Math.max(1, threads);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConnectionPool pool = new ConnectionPool(AirlineBackendService.DB_URL, AirlineBackendService.USER,
+                AirlineBackendService.PASS, THREADS, THREADS, 30_000L, 4);
+        try {
+            Result result = new AvailabilityRollout(pool, THREADS, BATCH_SIZE).rollout(LocalDate.now(), HORIZON_DAYS);
+            System.out.println(result);
+            if (result.getInserted() > 0) {
+                int routes = new SeatInventory(pool).rebuildRouteAvailability(result.getFrom(), result.getTo());
+                System.out.println("ROUTE_AVAILABILITY rows rebuilt: " + routes);
+            }
+            System.out.println(pool.getStats());
+        } finally {
+            pool.close();
+        }
+    }
+
+    public Result rollout(LocalDate from, int horizonDays) throws SQLException {
+        long start = System.nanoTime();
+        List<int[]> flights = pool.withConnection(AvailabilityRollout::loadFlights);
+        int days = horizonDays + 1;
+
+        int chunkCount = Math.min(flights.size(), threads * 4);
+        List<List<int[]>> chunks = new ArrayList<>(chunkCount);
+        for (int i = 0; i < chunkCount; i++) {
+            chunks.add(new ArrayList<>());
+        }
+        for (int i = 0; i < flights.size(); i++) {
+            chunks.get(i * chunkCount / flights.size()).add(flights.get(i));
+        }
+
+        LongAdder inserted = new LongAdder();
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "availability-rollout-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>(chunks.size());
+            for (List<int[]> chunk : chunks) {
+                futures.add(executor.submit(() -> {
+                    inserted.add(pool.withConnection(conn -> insertChunk(conn, chunk, from, days)));
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Availability rollout interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new SQLException("Availability rollout failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return new Result(from, from.plusDays(horizonDays), flights.size(), (long) flights.size() * days,
+                inserted.sum(), System.nanoTime() - start);
+    }
+
+    private static List<int[]> loadFlights(Connection conn) throws SQLException {
+        List<int[]> flights = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement("SELECT Flight_id, Total_Seats FROM FLIGHTS ORDER BY Flight_id");
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                flights.add(new int[]{rs.getInt("Flight_id"), rs.getInt("Total_Seats")});
+            }
+        }
+        return flights;
+    }
+
+    private long insertChunk(Connection conn, List<int[]> flights, LocalDate from, int days) throws SQLException {
+        long inserted = 0;
+        int[] flightIds = new int[batchSize];
+        int[] seats = new int[batchSize];
+        LocalDate[] dates = new LocalDate[batchSize];
+        int pending = 0;
+        for (int[] flight : flights) {
+            boolean[] existing = existingDays(conn, flight[0], from, days);
+            for (int day = 0; day < days; day++) {
+                if (existing[day]) {
+                    continue;
+                }
+                flightIds[pending] = flight[0];
+                seats[pending] = flight[1];
+                dates[pending] = from.plusDays(day);
+                if (++pending == batchSize) {
+                    inserted += insertRows(conn, flightIds, dates, seats, pending);
+                    pending = 0;
+                }
+            }
+        }
+        if (pending > 0) {
+            inserted += insertRows(conn, flightIds, dates, seats, pending);
+        }
+        return inserted;
+    }
+
+    private static boolean[] existingDays(Connection conn, int flightId, LocalDate from, int days) throws SQLException {
+        boolean[] existing = new boolean[days];
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT Journey_Date FROM FLIGHT_AVAILABILITY WHERE Flight_id = ? AND Journey_Date BETWEEN ? AND ?")) {
+            ps.setInt(1, flightId);
+            ps.setDate(2, Date.valueOf(from));
+            ps.setDate(3, Date.valueOf(from.plusDays(days - 1)));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    existing[(int) (rs.getDate("Journey_Date").toLocalDate().toEpochDay() - from.toEpochDay())] = true;
+                }
+            }
+        }
+        return existing;
+    }
+
+    private static long insertRows(Connection conn, int[] flightIds, LocalDate[] dates, int[] seats, int rows) throws SQLException {
+        StringBuilder sql = new StringBuilder("INSERT INTO FLIGHT_AVAILABILITY (Flight_id, Journey_Date, Available_Seats) VALUES ");
+        for (int i = 0; i < rows; i++) {
+            sql.append(i == 0 ? "(?, ?, ?)" : ", (?, ?, ?)");
+        }
+        sql.append(" ON DUPLICATE KEY UPDATE Flight_id = Flight_id");
+
+        try (PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+            int index = 1;
+            for (int i = 0; i < rows; i++) {
+                ps.setInt(index++, flightIds[i]);
+                ps.setDate(index++, Date.valueOf(dates[i]));
+                ps.setInt(index++, seats[i]);
+            }
+            return ps.executeUpdate();
+        }
+    }
+
+    static final class Result {
+        private final LocalDate from;
+        private final LocalDate to;
+        private final int flights;
+        private final long rows;
+        private final long inserted;
+        private final long elapsedNanos;
+
+        Result(LocalDate from, LocalDate to, int flights, long rows, long inserted, long elapsedNanos) {
+            this.from = from;
+            this.to = to;
+            this.flights = flights;
+            this.rows = rows;
+            this.inserted = inserted;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public LocalDate getFrom() { return from; }
+        public LocalDate getTo() { return to; }
+        public int getFlights() { return flights; }
+        public long getRows() { return rows; }
+        public long getInserted() { return inserted; }
+        public long getElapsedNanos() { return elapsedNanos; }
+
+        public double getScannedPerSecond() {
+            return elapsedNanos == 0 ? 0 : rows * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        public double getInsertedPerSecond() {
+            return elapsedNanos == 0 ? 0 : inserted * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("rollout[%s..%s, flights=%d, rows=%d, inserted=%d, existing=%d, %.1fs, " +
+                            "%.0f rows/s scanned, %.0f rows/s inserted]",
+                    from, to, flights, rows, inserted, rows - inserted, elapsedNanos / 1_000_000_000.0,
+                    getScannedPerSecond(), getInsertedPerSecond());
+        }
+    }
+}
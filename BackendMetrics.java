@@ -0,0 +1,295 @@
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanParameterInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+import java.lang.management.ManagementFactory;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+
+class BackendMetrics implements DynamicMBean {
+
+    interface SqlCall<T> {
+        T call() throws SQLException;
+    }
+
+    static final boolean ENABLED = Boolean.getBoolean("airline.metrics.enabled");
+    private static final long DUMP_MS = Long.getLong("airline.metrics.dumpMs", 60_000L);
+    private static final String OBJECT_NAME = "airline:type=BackendMetrics";
+    private static final String[] METHOD_ATTRIBUTES = {"calls", "errors", "rows", "meanMs", "p50Ms", "p99Ms", "maxMs"};
+
+    private final Map<String, MethodMetrics> methods = new ConcurrentSkipListMap<>();
+    private final Supplier<ConnectionPool.PoolStats> poolStats;
+    private final Supplier<LatencyHistogram> poolWait;
+    private final Supplier<List<StatementCache.StatementStats>> statementStats;
+    private ScheduledExecutorService dumper;
+    private ObjectName registeredName;
+
+    BackendMetrics(Supplier<ConnectionPool.PoolStats> poolStats, Supplier<LatencyHistogram> poolWait,
+                   Supplier<List<StatementCache.StatementStats>> statementStats) {
+        this.poolStats = poolStats;
+        this.poolWait = poolWait;
+        this.statementStats = statementStats;
+    }
+
+    public <T> T time(String method, SqlCall<T> call) throws SQLException {
+        MethodMetrics metrics = methods.computeIfAbsent(method, MethodMetrics::new);
+        long start = System.nanoTime();
+        try {
+            T result = call.call();
+            metrics.success(System.nanoTime() - start, rowsOf(result));
+            return result;
+        } catch (SQLException e) {
+            metrics.failure(System.nanoTime() - start, e.getSQLState() == null ? "unknown" : e.getSQLState());
+            throw e;
+        } catch (RuntimeException e) {
+            metrics.failure(System.nanoTime() - start, e.getClass().getSimpleName());
+            throw e;
+        }
+    }
+
+    private static long rowsOf(Object result) {
+        if (result == null || result instanceof Stream) {
+            return 0;
+        }
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Map) {
+            return ((Map<?, ?>) result).size();
+        }
+        return 1;
+    }
+
+    public synchronized void start() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+                registeredName = name;
+            }
+        } catch (JMException e) {
+            e.printStackTrace();
+        }
+
+        if (DUMP_MS > 0 && dumper == null) {
+            dumper = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "backend-metrics-dump");
+                t.setDaemon(true);
+                return t;
+            });
+            dumper.scheduleAtFixedRate(this::dump, DUMP_MS, DUMP_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public synchronized void stop() {
+        if (dumper != null) {
+            dumper.shutdownNow();
+            dumper = null;
+            dump();
+        }
+        if (registeredName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredName);
+            } catch (JMException e) {
+                e.printStackTrace();
+            }
+            registeredName = null;
+        }
+    }
+
+    private void dump() {
+        System.out.println(report());
+    }
+
+    public void reset() {
+        methods.clear();
+    }
+
+    public String report() {
+        StringBuilder sb = new StringBuilder("backend metrics:");
+        for (MethodMetrics metrics : methods.values()) {
+            sb.append(System.lineSeparator()).append("  ").append(metrics);
+        }
+        ConnectionPool.PoolStats stats = poolStats.get();
+        if (stats != null) {
+            sb.append(System.lineSeparator()).append("  ").append(stats);
+        }
+        LatencyHistogram wait = poolWait.get();
+        if (wait != null) {
+            sb.append(System.lineSeparator()).append("  connection wait: ").append(wait);
+        }
+        for (StatementCache.StatementStats statement : statementStats.get()) {
+            sb.append(System.lineSeparator()).append("  ").append(statement);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        if ("report".equals(attribute)) {
+            return report();
+        }
+        if (attribute.startsWith("pool.")) {
+            return poolAttribute(attribute.substring("pool.".length()));
+        }
+        int dot = attribute.lastIndexOf('.');
+        MethodMetrics metrics = dot < 0 ? null : methods.get(attribute.substring(0, dot));
+        if (metrics == null) {
+            throw new AttributeNotFoundException(attribute);
+        }
+        String name = attribute.substring(dot + 1);
+        if (name.startsWith("errors.")) {
+            LongAdder errors = metrics.errorsByState.get(name.substring("errors.".length()));
+            return errors == null ? 0L : errors.sum();
+        }
+        switch (name) {
+            case "calls": return metrics.latency.getCount();
+            case "errors": return metrics.errors.sum();
+            case "rows": return metrics.rows.sum();
+            case "meanMs": return metrics.latency.getMean() / 1_000_000.0;
+            case "p50Ms": return metrics.latency.getValueAtPercentile(50) / 1_000_000.0;
+            case "p99Ms": return metrics.latency.getValueAtPercentile(99) / 1_000_000.0;
+            case "maxMs": return metrics.latency.getMax() / 1_000_000.0;
+            default: throw new AttributeNotFoundException(attribute);
+        }
+    }
+
+    private Object poolAttribute(String name) throws AttributeNotFoundException {
+        ConnectionPool.PoolStats stats = poolStats.get();
+        LatencyHistogram wait = poolWait.get();
+        if (stats == null || wait == null) {
+            throw new AttributeNotFoundException("pool." + name);
+        }
+        switch (name) {
+            case "active": return (long) stats.getActiveConnections();
+            case "idle": return (long) stats.getIdleConnections();
+            case "waiting": return (long) stats.getWaitingThreads();
+            case "timeouts": return stats.getTimeoutCount();
+            case "waitP50Ms": return wait.getValueAtPercentile(50) / 1_000_000.0;
+            case "waitP99Ms": return wait.getValueAtPercentile(99) / 1_000_000.0;
+            case "waitMaxMs": return wait.getMax() / 1_000_000.0;
+            default: throw new AttributeNotFoundException("pool." + name);
+        }
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Backend metrics are read-only: " + attribute.getName());
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        AttributeList list = new AttributeList();
+        for (String attribute : attributes) {
+            try {
+                list.add(new Attribute(attribute, getAttribute(attribute)));
+            } catch (AttributeNotFoundException ignored) {
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+        if ("reset".equals(actionName)) {
+            reset();
+            return null;
+        }
+        if ("report".equals(actionName)) {
+            return report();
+        }
+        throw new ReflectionException(new NoSuchMethodException(actionName));
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        List<MBeanAttributeInfo> attributes = new ArrayList<>();
+        attributes.add(attributeInfo("report", String.class));
+        for (String name : new String[]{"active", "idle", "waiting", "timeouts"}) {
+            attributes.add(attributeInfo("pool." + name, Long.class));
+        }
+        for (String name : new String[]{"waitP50Ms", "waitP99Ms", "waitMaxMs"}) {
+            attributes.add(attributeInfo("pool." + name, Double.class));
+        }
+        for (MethodMetrics metrics : methods.values()) {
+            for (String name : METHOD_ATTRIBUTES) {
+                attributes.add(attributeInfo(metrics.name + "." + name, name.endsWith("Ms") ? Double.class : Long.class));
+            }
+            for (String sqlState : metrics.errorsByState.keySet()) {
+                attributes.add(attributeInfo(metrics.name + ".errors." + sqlState, Long.class));
+            }
+        }
+        MBeanOperationInfo[] operations = {
+                new MBeanOperationInfo("reset", "Clear all method metrics", new MBeanParameterInfo[0],
+                        void.class.getName(), MBeanOperationInfo.ACTION),
+                new MBeanOperationInfo("report", "Text dump of all metrics", new MBeanParameterInfo[0],
+                        String.class.getName(), MBeanOperationInfo.INFO)
+        };
+        return new MBeanInfo(getClass().getName(), "AirlineBackendService call metrics",
+                attributes.toArray(new MBeanAttributeInfo[0]), null, operations, null);
+    }
+
+    private static MBeanAttributeInfo attributeInfo(String name, Class<?> type) {
+        return new MBeanAttributeInfo(name, type.getName(), name, true, false, false);
+    }
+
+    private static final class MethodMetrics {
+        private final String name;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final Map<String, LongAdder> errorsByState = new ConcurrentHashMap<>();
+
+        MethodMetrics(String name) {
+            this.name = name;
+        }
+
+        void success(long nanos, long rowCount) {
+            latency.record(nanos);
+            rows.add(rowCount);
+        }
+
+        void failure(long nanos, String state) {
+            latency.record(nanos);
+            errors.increment();
+            errorsByState.computeIfAbsent(state, s -> new LongAdder()).increment();
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(String.format("%s[%s, errors=%d, rows=%d]",
+                    name, latency, errors.sum(), rows.sum()));
+            if (!errorsByState.isEmpty()) {
+                sb.append(" errorsByState");
+                errorsByState.forEach((state, count) -> sb.append(' ').append(state).append('=').append(count.sum()));
+            }
+            return sb.toString();
+        }
+    }
+}
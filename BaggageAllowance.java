@@ -0,0 +1,161 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+class BaggageAllowance {
+
+    static final double CABIN_LIMIT_KG = 7.0;
+    static final double CHECKED_LIMIT_KG = 15.0;
+    static final double STUDENT_CHECKED_LIMIT_KG = 25.0;
+
+    private final ConnectionPool pool;
+    private final int maxEntries;
+    private final LinkedHashMap<String, Map<String, Double>> totalsByPnr;
+
+    BaggageAllowance(ConnectionPool pool, int maxEntries) {
+        this.pool = pool;
+        this.maxEntries = maxEntries;
+        this.totalsByPnr = new LinkedHashMap<String, Map<String, Double>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Map<String, Double>> eldest) {
+                return size() > BaggageAllowance.this.maxEntries;
+            }
+        };
+    }
+
+    static double limitFor(String type, boolean student) {
+        if ("Cabin".equalsIgnoreCase(type)) {
+            return CABIN_LIMIT_KG;
+        }
+        return student ? STUDENT_CHECKED_LIMIT_KG : CHECKED_LIMIT_KG;
+    }
+
+    public double getUsedWeight(int passengerId, String pnr, String type) throws SQLException {
+        Map<String, Double> totals;
+        synchronized (this) {
+            totals = totalsByPnr.get(pnr);
+        }
+        if (totals == null) {
+            totals = pool.withConnection(conn -> loadTotals(conn, pnr));
+            synchronized (this) {
+                totalsByPnr.putIfAbsent(pnr, totals);
+            }
+        }
+        return totals.getOrDefault(key(passengerId, type), 0.0);
+    }
+
+    public int checkIn(String pnr, List<Bag> bags) throws SQLException {
+        if (bags.isEmpty()) {
+            return 0;
+        }
+        Map<String, Double> totals = pool.inTransaction(conn -> {
+            Set<Integer> passengerIds = lockPassengers(conn, pnr);
+            Map<String, Double> current = loadTotals(conn, pnr);
+            for (Bag bag : bags) {
+                if (!passengerIds.contains(bag.passengerId)) {
+                    throw new IllegalArgumentException("Passenger " + bag.passengerId + " is not on PNR " + pnr);
+                }
+                if (bag.weight <= 0) {
+                    throw new IllegalArgumentException("Baggage weight must be positive");
+                }
+                String key = key(bag.passengerId, bag.type);
+                double used = current.getOrDefault(key, 0.0);
+                double limit = limitFor(bag.type, bag.student);
+                if (used + bag.weight > limit + 1e-9) {
+                    throw new IllegalArgumentException(String.format(
+                            "Cannot add %.1f kg. Remaining allowed weight for %s baggage is %.1f kg (Max: %.1f kg, Used: %.1f kg)",
+                            bag.weight, bag.type.toLowerCase(), limit - used, limit, used));
+                }
+                current.put(key, used + bag.weight);
+            }
+
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO BAGGAGE (Passenger_ID, PNR, Weight, Baggage_type) VALUES (?, ?, ?, ?)")) {
+                for (Bag bag : bags) {
+                    ps.setInt(1, bag.passengerId);
+                    ps.setString(2, pnr);
+                    ps.setDouble(3, bag.weight);
+                    ps.setString(4, bag.type);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            return current;
+        });
+
+        synchronized (this) {
+            totalsByPnr.put(pnr, totals);
+        }
+        return bags.size();
+    }
+
+    public synchronized void evict(Collection<String> pnrs) {
+        for (String pnr : pnrs) {
+            totalsByPnr.remove(pnr);
+        }
+    }
+
+    private static Set<Integer> lockPassengers(Connection conn, String pnr) throws SQLException {
+        Set<Integer> passengerIds = new HashSet<>();
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT Passenger_ID FROM RESERVATION WHERE PNR = ? FOR UPDATE")) {
+            ps.setString(1, pnr);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    passengerIds.add(rs.getInt("Passenger_ID"));
+                }
+            }
+        }
+        if (passengerIds.isEmpty()) {
+            throw new IllegalArgumentException("PNR not found: " + pnr);
+        }
+        return passengerIds;
+    }
+
+    private static Map<String, Double> loadTotals(Connection conn, String pnr) throws SQLException {
+        Map<String, Double> totals = new HashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT Passenger_ID, Baggage_type, SUM(Weight) AS Total_Weight FROM BAGGAGE " +
+                        "WHERE PNR = ? GROUP BY Passenger_ID, Baggage_type")) {
+            ps.setString(1, pnr);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    totals.put(key(rs.getInt("Passenger_ID"), rs.getString("Baggage_type")), rs.getDouble("Total_Weight"));
+                }
+            }
+        }
+        return totals;
+    }
+
+    private static String key(int passengerId, String type) {
+        return passengerId + "|" + type.toLowerCase();
+    }
+
+    static final class Bag {
+        private final int passengerId;
+        private final double weight;
+        private final String type;
+        private final boolean student;
+
+        Bag(int passengerId, double weight, String type, boolean student) {
+            this.passengerId = passengerId;
+            this.weight = weight;
+            this.type = type;
+            this.student = student;
+        }
+
+        public int getPassengerId() { return passengerId; }
+        public double getWeight() { return weight; }
+        public String getType() { return type; }
+        public boolean isStudent() { return student; }
+    }
+}
@@ -0,0 +1,213 @@
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+
+class BookingLoadGenerator {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 500);
+    private static final long DURATION_MS = Long.getLong("load.durationMs", 30_000L);
+    private static final int SEARCH_PERCENT = Integer.getInteger("load.searchPercent", 50);
+    private static final int BOOK_PERCENT = Integer.getInteger("load.bookPercent", 40);
+    private static final int MAX_PASSENGERS = Integer.getInteger("load.maxPassengers", 3);
+    private static final String ORIGIN = System.getProperty("load.origin", "DEL");
+    private static final String DESTINATION = System.getProperty("load.destination", "BOM");
+
+    public static void main(String[] args) throws Exception {
+        AirlineBackendService backend = AirlineBackendService.create();
+        backend.initializeDatabaseConnection();
+
+        Object[] target;
+        try (Connection conn = connect()) {
+            target = findTarget(conn);
+        }
+        if (target == null) {
+            backend.shutdown();
+            System.err.println("No future FLIGHT_AVAILABILITY row for " + ORIGIN + " -> " + DESTINATION);
+            System.exit(1);
+        }
+        int flightId = (Integer) target[0];
+        Date journeyDate = (Date) target[1];
+
+        Traffic search = new Traffic("search");
+        Traffic book = new Traffic("book");
+        Traffic cancel = new Traffic("cancel");
+        Queue<String> booked = new ConcurrentLinkedQueue<>();
+        AtomicLong passengerCounter = new AtomicLong();
+
+        System.out.printf("clients=%d, duration=%dms, flight=%d, date=%s, available=%d%n",
+                CLIENTS, DURATION_MS, flightId, journeyDate, backend.getAvailableSeats(flightId, journeyDate));
+
+        ExecutorService executor = AsyncAirlineBackendService.createExecutor();
+        CountDownLatch startGate = new CountDownLatch(1);
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(DURATION_MS);
+        for (int i = 0; i < CLIENTS; i++) {
+            executor.execute(() -> {
+                try {
+                    startGate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    int roll = random.nextInt(100);
+                    if (roll < SEARCH_PERCENT) {
+                        search.run(() -> backend.searchFlights(ORIGIN, DESTINATION, journeyDate));
+                    } else if (roll < SEARCH_PERCENT + BOOK_PERCENT) {
+                        ObservableList<AirlineBookingSystemFrontend.Passenger> passengers = FXCollections.observableArrayList();
+                        int count = 1 + random.nextInt(MAX_PASSENGERS);
+                        for (int p = 0; p < count; p++) {
+                            long n = passengerCounter.incrementAndGet();
+                            passengers.add(new AirlineBookingSystemFrontend.Passenger(
+                                    0, "Load " + n, "load" + n + "@example.com", "9000000000"));
+                        }
+                        book.run(() -> booked.add(backend.bookTicket(flightId, journeyDate, passengers, "Credit Card")));
+                    } else {
+                        String pnr = booked.poll();
+                        if (pnr != null) {
+                            cancel.run(() -> {
+                                backend.cancelTicket(pnr);
+                                return null;
+                            });
+                        }
+                    }
+                }
+            });
+        }
+        startGate.countDown();
+        executor.shutdown();
+        executor.awaitTermination(DURATION_MS + 60_000L, TimeUnit.MILLISECONDS);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        System.out.printf("elapsed=%.1fs, remaining seats=%d%n", seconds, backend.getAvailableSeats(flightId, journeyDate));
+        for (Traffic traffic : new Traffic[]{search, book, cancel}) {
+            System.out.println(traffic.report(seconds));
+        }
+        System.out.println(backend.getPoolStats());
+        System.out.println(backend.getBookingStats());
+        System.out.println(backend.getCancelStats());
+        for (StatementCache.StatementStats statement : backend.getStatementStats()) {
+            if (statement.getSql().startsWith("UPDATE FLIGHT_AVAILABILITY")) {
+                System.out.println(statement);
+            }
+        }
+        backend.shutdown();
+
+        List<String> violations;
+        try (Connection conn = connect()) {
+            violations = checkInvariants(conn);
+        }
+        if (violations.isEmpty()) {
+            System.out.println("Invariants hold: no oversell, no duplicate seats, one payment per PNR");
+        } else {
+            violations.forEach(v -> System.out.println("VIOLATION " + v));
+            System.exit(1);
+        }
+    }
+
+    static List<String> checkInvariants(Connection conn) throws SQLException {
+        List<String> violations = new ArrayList<>();
+        collect(conn, violations,
+                "SELECT fa.Flight_id, fa.Journey_Date, fa.Available_Seats, f.Total_Seats, COUNT(r.PNR) AS Booked " +
+                        "FROM FLIGHT_AVAILABILITY fa " +
+                        "JOIN FLIGHTS f ON f.Flight_id = fa.Flight_id " +
+                        "LEFT JOIN RESERVATION r ON r.Flight_ID = fa.Flight_id AND r.Journey_Date = fa.Journey_Date " +
+                        "GROUP BY fa.Flight_id, fa.Journey_Date, fa.Available_Seats, f.Total_Seats " +
+                        "HAVING fa.Available_Seats <> f.Total_Seats - COUNT(r.PNR) OR COUNT(r.PNR) > f.Total_Seats",
+                rs -> "flight " + rs.getInt("Flight_id") + " on " + rs.getDate("Journey_Date") +
+                        ": Available_Seats=" + rs.getInt("Available_Seats") + ", Total_Seats=" + rs.getInt("Total_Seats") +
+                        ", reservations=" + rs.getInt("Booked"));
+        collect(conn, violations,
+                "SELECT Flight_ID, Journey_Date, Seat_No, COUNT(*) AS Holders FROM RESERVATION " +
+                        "GROUP BY Flight_ID, Journey_Date, Seat_No HAVING COUNT(*) > 1",
+                rs -> "seat " + rs.getString("Seat_No") + " on flight " + rs.getInt("Flight_ID") + " on " +
+                        rs.getDate("Journey_Date") + " held by " + rs.getInt("Holders") + " reservations");
+        collect(conn, violations,
+                "SELECT r.PNR, COUNT(p.Payment_ID) AS Payments FROM (SELECT DISTINCT PNR FROM RESERVATION) r " +
+                        "LEFT JOIN PAYMENT p ON p.PNR = r.PNR GROUP BY r.PNR HAVING COUNT(p.Payment_ID) <> 1",
+                rs -> "PNR " + rs.getString("PNR") + " has " + rs.getInt("Payments") + " payments");
+        collect(conn, violations,
+                "SELECT p.PNR FROM PAYMENT p WHERE NOT EXISTS (SELECT 1 FROM RESERVATION r WHERE r.PNR = p.PNR)",
+                rs -> "payment for PNR " + rs.getString("PNR") + " has no reservation");
+        return violations;
+    }
+
+    private static void collect(Connection conn, List<String> violations, String sql,
+                                AirlineBackendService.RowMapper<String> mapper) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                violations.add(mapper.map(rs));
+            }
+        }
+    }
+
+    private static Object[] findTarget(Connection conn) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT fa.Flight_id, fa.Journey_Date FROM FLIGHT_AVAILABILITY fa " +
+                        "JOIN FLIGHTS f ON f.Flight_id = fa.Flight_id " +
+                        "WHERE f.Origin = ? AND f.Destination = ? AND fa.Journey_Date > CURDATE() " +
+                        "ORDER BY fa.Journey_Date, fa.Flight_id LIMIT 1")) {
+            ps.setString(1, ORIGIN);
+            ps.setString(2, DESTINATION);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? new Object[]{rs.getInt("Flight_id"), rs.getDate("Journey_Date")} : null;
+            }
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(AirlineBackendService.DB_URL,
+                AirlineBackendService.USER, AirlineBackendService.PASS);
+    }
+
+    private static final class Traffic {
+        private final String name;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LatencyHistogram failureLatency = new LatencyHistogram();
+        private final LongAdder soldOut = new LongAdder();
+
+        Traffic(String name) {
+            this.name = name;
+        }
+
+        void run(Callable<?> call) {
+            long t0 = System.nanoTime();
+            try {
+                call.call();
+                latency.record(System.nanoTime() - t0);
+            } catch (Exception e) {
+                failureLatency.record(System.nanoTime() - t0);
+                if (e.getMessage() != null && e.getMessage().startsWith("Not enough seats")) {
+                    soldOut.increment();
+                }
+            }
+        }
+
+        String report(double seconds) {
+            return String.format("%-7s ok=%d (%.1f/s) failed=%d (soldOut=%d)%n    ok:     %s%n    failed: %s",
+                    name, latency.getCount(), latency.getCount() / seconds,
+                    failureLatency.getCount(), soldOut.sum(), latency, failureLatency);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Timestamp;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+
+class BookingRequests {
+
+    static final int PURGE_BATCH_SIZE = 1000;
+    static final String PURGE_EXPIRED = "DELETE FROM BOOKING_REQUEST WHERE Created_At < ? LIMIT ?";
+
+    private final ConnectionPool pool;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final long ttlNanos;
+    private final LinkedHashMap<String, Request> requests;
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder purged = new LongAdder();
+
+    BookingRequests(ConnectionPool pool, int maxEntries, long ttlMillis) {
+        this.pool = pool;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.requests = new LinkedHashMap<String, Request>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Request> eldest) {
+                return size() > BookingRequests.this.maxEntries && eldest.getValue().result.isDone();
+            }
+        };
+    }
+
+    public synchronized CompletableFuture<String> claim(String key) {
+        expire();
+        Request request = requests.get(key);
+        if (request != null) {
+            duplicates.increment();
+            return request.result;
+        }
+        requests.put(key, new Request());
+        return null;
+    }
+
+    public void complete(String key, String pnr) {
+        Request request;
+        synchronized (this) {
+            request = requests.get(key);
+        }
+        if (request != null) {
+            request.result.complete(pnr);
+        }
+    }
+
+    public void fail(String key, Throwable error) {
+        Request request;
+        synchronized (this) {
+            request = requests.remove(key);
+        }
+        if (request != null) {
+            request.result.completeExceptionally(error);
+        }
+    }
+
+    public String findPnr(String key) throws SQLException {
+        String pnr = pool.withConnection(conn -> findPnr(conn, key));
+        if (pnr != null) {
+            duplicates.increment();
+        }
+        return pnr;
+    }
+
+    public String insert(Connection conn, String key, String pnr) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO BOOKING_REQUEST (Request_Key, PNR, Created_At) VALUES (?, ?, NOW())")) {
+            ps.setString(1, key);
+            ps.setString(2, pnr);
+            ps.executeUpdate();
+            return null;
+        } catch (SQLIntegrityConstraintViolationException e) {
+            String existing = findPnr(conn, key);
+            if (existing == null) {
+                throw e;
+            }
+            duplicates.increment();
+            return existing;
+        }
+    }
+
+    public int purgeExpired() throws SQLException {
+        Timestamp cutoff = new Timestamp(System.currentTimeMillis() - ttlMillis);
+        int total = 0;
+        while (true) {
+            int deleted = pool.withConnection(conn -> {
+                try (PreparedStatement ps = conn.prepareStatement(PURGE_EXPIRED)) {
+                    ps.setTimestamp(1, cutoff);
+                    ps.setInt(2, PURGE_BATCH_SIZE);
+                    return ps.executeUpdate();
+                }
+            });
+            total += deleted;
+            if (deleted < PURGE_BATCH_SIZE) {
+                break;
+            }
+        }
+        purged.add(total);
+        return total;
+    }
+
+    static String await(CompletableFuture<String> result) throws SQLException {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for booking request", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new SQLException("Booking request failed", e.getCause());
+        }
+    }
+
+    private static String findPnr(Connection conn, String key) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT PNR FROM BOOKING_REQUEST WHERE Request_Key = ?")) {
+            ps.setString(1, key);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getString("PNR") : null;
+            }
+        }
+    }
+
+    private void expire() {
+        long now = System.nanoTime();
+        Iterator<Request> it = requests.values().iterator();
+        while (it.hasNext()) {
+            Request request = it.next();
+            if (now - request.createdAt <= ttlNanos) {
+                break;
+            }
+            if (request.result.isDone()) {
+                it.remove();
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return requests.size();
+    }
+
+    public long getDuplicates() { return duplicates.sum(); }
+
+    public long getPurged() { return purged.sum(); }
+
+    @Override
+    public String toString() {
+        return String.format("bookingRequests[size=%d/%d, duplicates=%d, purged=%d]",
+                size(), maxEntries, getDuplicates(), getPurged());
+    }
+
+    private static final class Request {
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+        private final long createdAt = System.nanoTime();
+    }
+}
@@ -0,0 +1,386 @@
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+
+class ConnectionPool implements AutoCloseable {
+
+    interface SqlWork<T> {
+        T execute(Connection conn) throws SQLException;
+    }
+
+    static final int DEFAULT_FETCH_SIZE = 1000;
+    static final long VALIDATE_AFTER_MS = Long.getLong("airline.pool.validateAfterMs", 30_000L);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int maxSize;
+    private final int maxInFlight;
+    private final long maxWaitMillis;
+    private final int statementCacheSize;
+
+    private final LinkedBlockingDeque<Connection> idle = new LinkedBlockingDeque<>();
+    private final Map<Connection, Long> idleSince = new ConcurrentHashMap<>();
+    private final Semaphore inFlight;
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final AtomicInteger activeConnections = new AtomicInteger();
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final LatencyHistogram waitHistogram = new LatencyHistogram();
+    private final Map<Connection, StatementCache> statementCaches = new ConcurrentHashMap<>();
+    private final Map<String, StatementCache.StatementStats> statementStats = new ConcurrentHashMap<>();
+    private final ThreadLocal<RoundTrips> roundTrips = new ThreadLocal<>();
+    private volatile boolean closed;
+
+    ConnectionPool(String url, String user, String password, int maxSize, int maxInFlight, long maxWaitMillis,
+                   int statementCacheSize) {
+        if (maxSize <= 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException("Pool size and max in-flight must be positive");
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.maxInFlight = maxInFlight;
+        this.maxWaitMillis = maxWaitMillis;
+        this.statementCacheSize = statementCacheSize;
+        this.inFlight = new Semaphore(maxInFlight, true);
+    }
+
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        try {
+            if (!inFlight.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                timeoutCount.increment();
+                throw new SQLTransientConnectionException(
+                        "Timed out after " + maxWaitMillis + " ms waiting for an in-flight slot");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        }
+
+        try {
+            Connection physical = acquirePhysical(deadline);
+            recordWait(System.nanoTime() - start);
+            activeConnections.incrementAndGet();
+            return wrap(physical);
+        } catch (SQLException | RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    public <T> T withConnection(SqlWork<T> work) throws SQLException {
+        try (Connection conn = borrow()) {
+            return work.execute(conn);
+        }
+    }
+
+    public <T> T inTransaction(SqlWork<T> work) throws SQLException {
+        try (Connection conn = borrow()) {
+            conn.setAutoCommit(false);
+            try {
+                T result = work.execute(conn);
+                conn.commit();
+                return result;
+            } catch (SQLException | RuntimeException ex) {
+                conn.rollback();
+                throw ex;
+            }
+        }
+    }
+
+    public RoundTrips countRoundTrips() {
+        RoundTrips counter = new RoundTrips(roundTrips.get());
+        roundTrips.set(counter);
+        return counter;
+    }
+
+    private void recordRoundTrip() {
+        for (RoundTrips counter = roundTrips.get(); counter != null; counter = counter.parent) {
+            counter.count++;
+        }
+    }
+
+    private Connection acquirePhysical(long deadline) throws SQLException {
+        while (true) {
+            Connection conn = idle.pollFirst();
+            if (conn != null) {
+                if (isUsable(conn)) {
+                    return conn;
+                }
+                discard(conn);
+                continue;
+            }
+
+            int current = totalConnections.get();
+            if (current < maxSize) {
+                if (totalConnections.compareAndSet(current, current + 1)) {
+                    try {
+                        return DriverManager.getConnection(url, user, password);
+                    } catch (SQLException e) {
+                        totalConnections.decrementAndGet();
+                        throw e;
+                    }
+                }
+                continue;
+            }
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                timeoutCount.increment();
+                throw new SQLTransientConnectionException(
+                        "Timed out after " + maxWaitMillis + " ms waiting for a pooled connection");
+            }
+            try {
+                conn = idle.pollFirst(remaining, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a connection", e);
+            }
+            if (conn != null) {
+                if (isUsable(conn)) {
+                    return conn;
+                }
+                discard(conn);
+            }
+        }
+    }
+
+    private boolean isUsable(Connection conn) {
+        Long since = idleSince.remove(conn);
+        try {
+            if (conn.isClosed()) {
+                return false;
+            }
+            if (since != null && System.nanoTime() - since >= TimeUnit.MILLISECONDS.toNanos(VALIDATE_AFTER_MS)) {
+                return conn.isValid(VALIDATION_TIMEOUT_SECONDS);
+            }
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void release(Connection physical) {
+        activeConnections.decrementAndGet();
+        try {
+            if (closed || physical.isClosed()) {
+                discard(physical);
+                return;
+            }
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            idleSince.put(physical, System.nanoTime());
+            idle.offerFirst(physical);
+        } catch (SQLException e) {
+            discard(physical);
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    private void discard(Connection physical) {
+        totalConnections.decrementAndGet();
+        idleSince.remove(physical);
+        StatementCache statements = statementCaches.remove(physical);
+        if (statements != null) {
+            statements.close();
+        }
+        try {
+            physical.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    private void recordWait(long nanos) {
+        borrowCount.increment();
+        totalWaitNanos.add(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+        waitHistogram.record(nanos);
+    }
+
+    private Connection wrap(Connection physical) {
+        InvocationHandler handler = new InvocationHandler() {
+            private boolean returned;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                String name = method.getName();
+                if ("close".equals(name)) {
+                    if (!returned) {
+                        returned = true;
+                        release(physical);
+                    }
+                    return null;
+                }
+                if ("isClosed".equals(name)) {
+                    return returned || physical.isClosed();
+                }
+                if (returned) {
+                    throw new SQLException("Connection has already been returned to the pool");
+                }
+                if ("prepareStatement".equals(name) && isCacheable(args)) {
+                    int autoGeneratedKeys = args.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+                    return statementCaches
+                            .computeIfAbsent(physical, c -> new StatementCache(c, statementCacheSize, statementStats,
+                                    ConnectionPool.this::recordRoundTrip))
+                            .prepare((String) args[0], autoGeneratedKeys);
+                }
+                if ("commit".equals(name) || "rollback".equals(name)) {
+                    recordRoundTrip();
+                }
+                try {
+                    return method.invoke(physical, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+
+    static int streamingFetchSize(Connection conn, Integer configured) throws SQLException {
+        if (configured != null) {
+            return configured;
+        }
+        return "MySQL".equals(conn.getMetaData().getDatabaseProductName()) ? Integer.MIN_VALUE : DEFAULT_FETCH_SIZE;
+    }
+
+    private static boolean isCacheable(Object[] args) {
+        return args.length == 1 || (args.length == 2 && args[1] instanceof Integer);
+    }
+
+    public List<StatementCache.StatementStats> getStatementStats() {
+        List<StatementCache.StatementStats> stats = new ArrayList<>(statementStats.values());
+        stats.sort((a, b) -> Long.compare(b.getExecutions(), a.getExecutions()));
+        return stats;
+    }
+
+    public LatencyHistogram getWaitHistogram() {
+        return waitHistogram;
+    }
+
+    public PoolStats getStats() {
+        long borrows = borrowCount.sum();
+        return new PoolStats(
+                maxSize,
+                maxInFlight,
+                totalConnections.get(),
+                activeConnections.get(),
+                idle.size(),
+                inFlight.getQueueLength(),
+                borrows,
+                timeoutCount.sum(),
+                borrows == 0 ? 0 : totalWaitNanos.sum() / borrows / 1_000,
+                maxWaitNanos.get() / 1_000
+        );
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        Connection conn;
+        while ((conn = idle.pollFirst()) != null) {
+            discard(conn);
+        }
+    }
+
+    public final class RoundTrips implements AutoCloseable {
+        private final RoundTrips parent;
+        private int count;
+
+        private RoundTrips(RoundTrips parent) {
+            this.parent = parent;
+        }
+
+        public int get() {
+            return count;
+        }
+
+        @Override
+        public void close() {
+            if (parent == null) {
+                roundTrips.remove();
+            } else {
+                roundTrips.set(parent);
+            }
+        }
+    }
+
+    public static class PoolStats {
+        private final int maxSize;
+        private final int maxInFlight;
+        private final int totalConnections;
+        private final int activeConnections;
+        private final int idleConnections;
+        private final int waitingThreads;
+        private final long borrowCount;
+        private final long timeoutCount;
+        private final long averageWaitMicros;
+        private final long maxWaitMicros;
+
+        PoolStats(int maxSize, int maxInFlight, int totalConnections, int activeConnections,
+                  int idleConnections, int waitingThreads, long borrowCount, long timeoutCount,
+                  long averageWaitMicros, long maxWaitMicros) {
+            this.maxSize = maxSize;
+            this.maxInFlight = maxInFlight;
+            this.totalConnections = totalConnections;
+            this.activeConnections = activeConnections;
+            this.idleConnections = idleConnections;
+            this.waitingThreads = waitingThreads;
+            this.borrowCount = borrowCount;
+            this.timeoutCount = timeoutCount;
+            this.averageWaitMicros = averageWaitMicros;
+            this.maxWaitMicros = maxWaitMicros;
+        }
+
+        public int getMaxSize() { return maxSize; }
+        public int getMaxInFlight() { return maxInFlight; }
+        public int getTotalConnections() { return totalConnections; }
+        public int getActiveConnections() { return activeConnections; }
+        public int getIdleConnections() { return idleConnections; }
+        public int getWaitingThreads() { return waitingThreads; }
+        public long getBorrowCount() { return borrowCount; }
+        public long getTimeoutCount() { return timeoutCount; }
+        public long getAverageWaitMicros() { return averageWaitMicros; }
+        public long getMaxWaitMicros() { return maxWaitMicros; }
+
+        @Override
+        public String toString() {
+            return String.format("pool[size=%d/%d, active=%d, idle=%d, waiting=%d, maxInFlight=%d, " +
+                            "borrows=%d, timeouts=%d, avgWait=%dus, maxWait=%dus]",
+                    totalConnections, maxSize, activeConnections, idleConnections, waitingThreads,
+                    maxInFlight, borrowCount, timeoutCount, averageWaitMicros, maxWaitMicros);
+        }
+    }
+}
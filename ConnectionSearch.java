@@ -0,0 +1,215 @@
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+class ConnectionSearch {
+
+    enum Ranking { DURATION, PRICE }
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final ReferenceData reference;
+    private final int minLayoverMinutes;
+    private final int maxLayoverMinutes;
+    private final Map<String, List<ReferenceData.FlightInfo>> departuresByAirport = new HashMap<>();
+    private final Map<String, List<ReferenceData.FlightInfo>> flightsByRoute = new HashMap<>();
+
+    ConnectionSearch(ReferenceData reference, int minLayoverMinutes, int maxLayoverMinutes) {
+        this.reference = reference;
+        this.minLayoverMinutes = minLayoverMinutes;
+        this.maxLayoverMinutes = maxLayoverMinutes;
+        for (ReferenceData.FlightInfo flight : reference.getFlights()) {
+            departuresByAirport.computeIfAbsent(flight.getOrigin(), k -> new ArrayList<>()).add(flight);
+            flightsByRoute.computeIfAbsent(routeKey(flight.getOrigin(), flight.getDestination()), k -> new ArrayList<>()).add(flight);
+        }
+    }
+
+    public ReferenceData getReference() {
+        return reference;
+    }
+
+    public int getMaxDayOffset(int maxStops) {
+        int maxLegSpan = MINUTES_PER_DAY + maxLayoverMinutes;
+        return (MINUTES_PER_DAY + maxStops * maxLegSpan) / MINUTES_PER_DAY;
+    }
+
+    public List<Itinerary> search(String origin, String destination, LocalDate date, LocalTime notBefore,
+                                  int passengers, int maxStops, Ranking ranking, int limit,
+                                  Map<Long, Integer> seatsByFlightDate) {
+        List<Itinerary> results = new ArrayList<>();
+        if (origin.equals(destination)) {
+            return results;
+        }
+        int earliest = notBefore == null ? 0 : notBefore.getHour() * 60 + notBefore.getMinute() + 1;
+        Leg[] legs = new Leg[maxStops + 1];
+
+        for (ReferenceData.FlightInfo first : departuresByAirport.getOrDefault(origin, Collections.emptyList())) {
+            int departure = minuteOfDay(first.getDepartureTime());
+            if (departure < earliest) {
+                continue;
+            }
+            Leg leg = leg(first, date, departure, passengers, seatsByFlightDate);
+            if (leg == null) {
+                continue;
+            }
+            legs[0] = leg;
+            if (first.getDestination().equals(destination)) {
+                results.add(new Itinerary(legs, 1));
+            } else if (maxStops > 0) {
+                extend(legs, 1, origin, destination, date, passengers, maxStops, seatsByFlightDate, results);
+            }
+        }
+
+        Comparator<Itinerary> byDuration = Comparator.comparingLong(Itinerary::getDurationMinutes);
+        Comparator<Itinerary> byPrice = Comparator.comparingDouble(Itinerary::getTotalPrice);
+        results.sort(ranking == Ranking.PRICE
+                ? byPrice.thenComparing(byDuration).thenComparing(Itinerary::getDeparture)
+                : byDuration.thenComparing(byPrice).thenComparing(Itinerary::getDeparture));
+        return results.size() > limit ? new ArrayList<>(results.subList(0, limit)) : results;
+    }
+
+    private void extend(Leg[] legs, int depth, String origin, String destination, LocalDate date, int passengers,
+                        int maxStops, Map<Long, Integer> seatsByFlightDate, List<Itinerary> results) {
+        Leg previous = legs[depth - 1];
+        String airport = previous.flight.getDestination();
+        boolean lastLeg = depth == maxStops;
+        List<ReferenceData.FlightInfo> candidates = lastLeg
+                ? flightsByRoute.getOrDefault(routeKey(airport, destination), Collections.emptyList())
+                : departuresByAirport.getOrDefault(airport, Collections.emptyList());
+
+        int earliest = previous.arrivalMinute + minLayoverMinutes;
+        int latest = previous.arrivalMinute + maxLayoverMinutes;
+        for (ReferenceData.FlightInfo next : candidates) {
+            String nextDestination = next.getDestination();
+            if (nextDestination.equals(origin) || visited(legs, depth, nextDestination)) {
+                continue;
+            }
+            int departure = nextDeparture(minuteOfDay(next.getDepartureTime()), earliest);
+            if (departure > latest) {
+                continue;
+            }
+            Leg leg = leg(next, date, departure, passengers, seatsByFlightDate);
+            if (leg == null) {
+                continue;
+            }
+            legs[depth] = leg;
+            if (nextDestination.equals(destination)) {
+                results.add(new Itinerary(legs, depth + 1));
+            } else if (!lastLeg) {
+                extend(legs, depth + 1, origin, destination, date, passengers, maxStops, seatsByFlightDate, results);
+            }
+        }
+    }
+
+    private static boolean visited(Leg[] legs, int depth, String airport) {
+        for (int i = 0; i < depth; i++) {
+            if (legs[i].flight.getDestination().equals(airport)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Leg leg(ReferenceData.FlightInfo flight, LocalDate journeyDate, int departureMinute,
+                           int passengers, Map<Long, Integer> seatsByFlightDate) {
+        LocalDate date = journeyDate.plusDays(departureMinute / MINUTES_PER_DAY);
+        Integer seats = seatsByFlightDate.get(SeatInventory.key(flight.getFlightId(), date));
+        if (seats == null || seats < passengers) {
+            return null;
+        }
+        int duration = Math.floorMod(minuteOfDay(flight.getArrivalTime()) - minuteOfDay(flight.getDepartureTime()), MINUTES_PER_DAY);
+        return new Leg(flight, date, departureMinute, departureMinute + duration, seats);
+    }
+
+    private static int nextDeparture(int minuteOfDay, int earliest) {
+        int departure = earliest - Math.floorMod(earliest, MINUTES_PER_DAY) + minuteOfDay;
+        return departure < earliest ? departure + MINUTES_PER_DAY : departure;
+    }
+
+    private static int minuteOfDay(Time time) {
+        LocalTime local = time.toLocalTime();
+        return local.getHour() * 60 + local.getMinute();
+    }
+
+    private static String routeKey(String origin, String destination) {
+        return origin + '|' + destination;
+    }
+
+    static final class Leg {
+        private final ReferenceData.FlightInfo flight;
+        private final LocalDate date;
+        private final int departureMinute;
+        private final int arrivalMinute;
+        private final int availableSeats;
+
+        Leg(ReferenceData.FlightInfo flight, LocalDate date, int departureMinute, int arrivalMinute, int availableSeats) {
+            this.flight = flight;
+            this.date = date;
+            this.departureMinute = departureMinute;
+            this.arrivalMinute = arrivalMinute;
+            this.availableSeats = availableSeats;
+        }
+
+        public ReferenceData.FlightInfo getFlight() { return flight; }
+        public LocalDate getDate() { return date; }
+        public int getAvailableSeats() { return availableSeats; }
+
+        public LocalDateTime getDeparture() {
+            return date.atTime(flight.getDepartureTime().toLocalTime());
+        }
+
+        public LocalDateTime getArrival() {
+            return getDeparture().plusMinutes(arrivalMinute - departureMinute);
+        }
+
+        @Override
+        public String toString() {
+            return flight.getOrigin() + " " + getDeparture() + " -> " + flight.getDestination() + " " + getArrival()
+                    + " (" + flight.getAirline() + " #" + flight.getFlightId() + ")";
+        }
+    }
+
+    static final class Itinerary {
+        private final List<Leg> legs;
+        private final long durationMinutes;
+        private final double totalPrice;
+        private final int availableSeats;
+
+        Itinerary(Leg[] legs, int count) {
+            List<Leg> copy = new ArrayList<>(count);
+            double price = 0;
+            int seats = Integer.MAX_VALUE;
+            for (int i = 0; i < count; i++) {
+                copy.add(legs[i]);
+                price += legs[i].flight.getPrice();
+                seats = Math.min(seats, legs[i].availableSeats);
+            }
+            this.legs = Collections.unmodifiableList(copy);
+            this.durationMinutes = legs[count - 1].arrivalMinute - legs[0].departureMinute;
+            this.totalPrice = price;
+            this.availableSeats = seats;
+        }
+
+        public List<Leg> getLegs() { return legs; }
+        public int getStops() { return legs.size() - 1; }
+        public long getDurationMinutes() { return durationMinutes; }
+        public double getTotalPrice() { return totalPrice; }
+        public int getAvailableSeats() { return availableSeats; }
+        public LocalDateTime getDeparture() { return legs.get(0).getDeparture(); }
+        public LocalDateTime getArrival() { return legs.get(legs.size() - 1).getArrival(); }
+
+        @Override
+        public String toString() {
+            return String.format("%d stop(s), %dh%02dm, %.2f: %s", getStops(), durationMinutes / 60, durationMinutes % 60,
+                    totalPrice, legs);
+        }
+    }
+}
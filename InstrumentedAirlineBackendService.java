@@ -0,0 +1,246 @@
+import javafx.collections.ObservableList;
+
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+
+class InstrumentedAirlineBackendService extends AirlineBackendService {
+
+    private final BackendMetrics metrics = new BackendMetrics(this::getPoolStats, this::getPoolWaitHistogram,
+            this::getStatementStats);
+
+    public BackendMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public void initializeDatabaseConnection() throws SQLException {
+        super.initializeDatabaseConnection();
+        metrics.start();
+    }
+
+    @Override
+    public void shutdown() {
+        metrics.stop();
+        super.shutdown();
+    }
+
+
+    @Override
+    public ReferenceData refreshReferenceData() throws SQLException {
+        return metrics.time("refreshReferenceData", super::refreshReferenceData);
+    }
+
+    @Override
+    public List<AirlineBookingSystemFrontend.Flight> searchFlights(String origin, String destination, Date journeyDate) throws SQLException {
+        return metrics.time("searchFlights", () -> super.searchFlights(origin, destination, journeyDate));
+    }
+
+    @Override
+    public AvailabilityRollout.Result rolloutAvailability(int horizonDays) throws SQLException {
+        return metrics.time("rolloutAvailability", () -> super.rolloutAvailability(horizonDays));
+    }
+
+    @Override
+    public List<AirlineBookingSystemFrontend.RevenueSummary> getRevenueSummary(RevenueAnalytics.Dimension dimension, Date fromDate, Date toDate) throws SQLException {
+        return metrics.time("getRevenueSummary", () -> super.getRevenueSummary(dimension, fromDate, toDate));
+    }
+
+    @Override
+    public void refreshAnalytics() throws SQLException {
+        metrics.time("refreshAnalytics", () -> {
+            super.refreshAnalytics();
+            return null;
+        });
+    }
+
+    @Override
+    public List<AirlineBookingSystemFrontend.FareCalendarDay> getFareCalendar(String origin, String destination, Date fromDate, Date toDate) throws SQLException {
+        return metrics.time("getFareCalendar", () -> super.getFareCalendar(origin, destination, fromDate, toDate));
+    }
+
+    @Override
+    public List<ConnectionSearch.Itinerary> searchConnections(String origin, String destination, Date journeyDate, int passengers, int maxStops, ConnectionSearch.Ranking ranking) throws SQLException {
+        return metrics.time("searchConnections", () -> super.searchConnections(origin, destination, journeyDate, passengers, maxStops, ranking));
+    }
+
+    @Override
+    public String bookTicket(int flightId, Date journeyDate, ObservableList<AirlineBookingSystemFrontend.Passenger> passengers,
+                             String paymentMethod, String requestKey) throws SQLException {
+        return metrics.time("bookTicket", () -> super.bookTicket(flightId, journeyDate, passengers, paymentMethod, requestKey));
+    }
+
+    @Override
+    public List<AirlineBookingSystemFrontend.Reservation> getAllReservations() throws SQLException {
+        return metrics.time("getAllReservations", () -> super.getAllReservations());
+    }
+
+    @Override
+    public void addBaggage(int passengerId, String pnr, double weight, String type, boolean student) throws SQLException {
+        metrics.time("addBaggage", () -> {
+            super.addBaggage(passengerId, pnr, weight, type, student);
+            return null;
+        });
+    }
+
+    @Override
+    public int checkInBaggage(String pnr, List<BaggageAllowance.Bag> bags) throws SQLException {
+        return metrics.time("checkInBaggage", () -> super.checkInBaggage(pnr, bags));
+    }
+
+    @Override
+    public List<AirlineBookingSystemFrontend.Baggage> getBaggageForPNR(String pnr) throws SQLException {
+        return metrics.time("getBaggageForPNR", () -> super.getBaggageForPNR(pnr));
+    }
+
+    @Override
+    public List<AirlineBookingSystemFrontend.PassengerComboItem> getPassengersForPNR(String pnr) throws SQLException {
+        return metrics.time("getPassengersForPNR", () -> super.getPassengersForPNR(pnr));
+    }
+
+    @Override
+    public Map<Integer, String> getPassengersForPNRUPDATE(String pnr) throws SQLException {
+        return metrics.time("getPassengersForPNRUPDATE", () -> super.getPassengersForPNRUPDATE(pnr));
+    }
+
+    @Override
+    public double getTotalBaggageWeight(int passengerId, String pnr, String type) throws SQLException {
+        return metrics.time("getTotalBaggageWeight", () -> super.getTotalBaggageWeight(passengerId, pnr, type));
+    }
+
+    @Override
+    public List<AirlineBookingSystemFrontend.Flight> getAllFlights() throws SQLException {
+        return metrics.time("getAllFlights", () -> super.getAllFlights());
+    }
+
+    @Override
+    public List<Integer> getAllFlightIds() throws SQLException {
+        return metrics.time("getAllFlightIds", () -> super.getAllFlightIds());
+    }
+
+    @Override
+    public List<AirlineBookingSystemFrontend.Passenger> getPassengersForFlight(int flightId, Date journeyDate) throws SQLException {
+        return metrics.time("getPassengersForFlight", () -> super.getPassengersForFlight(flightId, journeyDate));
+    }
+
+    @Override
+    public List<AirlineBookingSystemFrontend.Payment> getAllPayments() throws SQLException {
+        return metrics.time("getAllPayments", () -> super.getAllPayments());
+    }
+
+    @Override
+    public List<AirlineBookingSystemFrontend.Reservation> getReservationsByPNR(String pnr) throws SQLException {
+        return metrics.time("getReservationsByPNR", () -> super.getReservationsByPNR(pnr));
+    }
+
+    @Override
+    public void cancelTicket(String pnr) throws SQLException {
+        metrics.time("cancelTicket", () -> {
+            super.cancelTicket(pnr);
+            return null;
+        });
+    }
+
+    @Override
+    public int cancelTickets(Collection<String> pnrs) throws SQLException {
+        return metrics.time("cancelTickets", () -> super.cancelTickets(pnrs));
+    }
+
+    @Override
+    public int cancelFlightReservations(int flightId, Date journeyDate) throws SQLException {
+        return metrics.time("cancelFlightReservations", () -> super.cancelFlightReservations(flightId, journeyDate));
+    }
+
+    @Override
+    public void updatePassengerDetails(int passengerId, String detailType, String newValue) throws SQLException, IllegalArgumentException {
+        metrics.time("updatePassengerDetails", () -> {
+            super.updatePassengerDetails(passengerId, detailType, newValue);
+            return null;
+        });
+    }
+
+    @Override
+    public List<AirlineBookingSystemFrontend.FlightAvailability> checkFlightAvailability(String origin, String destination, Date date) throws SQLException {
+        return metrics.time("checkFlightAvailability", () -> super.checkFlightAvailability(origin, destination, date));
+    }
+
+    @Override
+    public AirlineBookingSystemFrontend.RouteAvailability getRouteAvailability(String origin, String destination, Date date) throws SQLException {
+        return metrics.time("getRouteAvailability", () -> super.getRouteAvailability(origin, destination, date));
+    }
+
+    @Override
+    public List<AirlineBookingSystemFrontend.Baggage> getAllBaggage() throws SQLException {
+        return metrics.time("getAllBaggage", () -> super.getAllBaggage());
+    }
+
+    @Override
+    public List<AirlineBookingSystemFrontend.Reservation> getReservationsPage(String afterPnr, int afterPassengerId, int limit) throws SQLException {
+        return metrics.time("getReservationsPage", () -> super.getReservationsPage(afterPnr, afterPassengerId, limit));
+    }
+
+    @Override
+    public List<AirlineBookingSystemFrontend.Payment> getPaymentsPage(int afterPaymentId, int limit) throws SQLException {
+        return metrics.time("getPaymentsPage", () -> super.getPaymentsPage(afterPaymentId, limit));
+    }
+
+    @Override
+    public List<AirlineBookingSystemFrontend.Baggage> getBaggagePage(int afterBaggageId, int limit) throws SQLException {
+        return metrics.time("getBaggagePage", () -> super.getBaggagePage(afterBaggageId, limit));
+    }
+
+    @Override
+    public List<AirlineBookingSystemFrontend.Flight> getFlightsPage(Time afterDepartureTime, int afterFlightId, int limit) throws SQLException {
+        return metrics.time("getFlightsPage", () -> super.getFlightsPage(afterDepartureTime, afterFlightId, limit));
+    }
+
+    @Override
+    public Stream<AirlineBookingSystemFrontend.Reservation> streamReservations() throws SQLException {
+        return metrics.time("streamReservations", () -> super.streamReservations());
+    }
+
+    @Override
+    public Stream<AirlineBookingSystemFrontend.Payment> streamPayments() throws SQLException {
+        return metrics.time("streamPayments", () -> super.streamPayments());
+    }
+
+    @Override
+    public Stream<AirlineBookingSystemFrontend.Baggage> streamBaggage() throws SQLException {
+        return metrics.time("streamBaggage", () -> super.streamBaggage());
+    }
+
+    @Override
+    public Stream<AirlineBookingSystemFrontend.Flight> streamFlights() throws SQLException {
+        return metrics.time("streamFlights", () -> super.streamFlights());
+    }
+
+    @Override
+    public List<String> getAllAirports() throws SQLException {
+        return metrics.time("getAllAirports", () -> super.getAllAirports());
+    }
+
+    @Override
+    public int getAvailableSeats(int flightId, Date journeyDate) throws SQLException {
+        return metrics.time("getAvailableSeats", () -> super.getAvailableSeats(flightId, journeyDate));
+    }
+
+    @Override
+    public String getSeatNumberForPassenger(int passengerId) throws SQLException {
+        return metrics.time("getSeatNumberForPassenger", () -> super.getSeatNumberForPassenger(passengerId));
+    }
+
+    @Override
+    public String getPnrForPassenger(int passengerId) throws SQLException {
+        return metrics.time("getPnrForPassenger", () -> super.getPnrForPassenger(passengerId));
+    }
+
+    @Override
+    public double getFlightPrice(int flightId) throws SQLException {
+        return metrics.time("getFlightPrice", () -> super.getFlightPrice(flightId));
+    }
+}
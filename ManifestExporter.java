@@ -0,0 +1,364 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+
+class ManifestExporter {
+
+    enum Format { CSV, COLUMNAR }
+
+    static final String DIRECTORY = System.getProperty("manifest.dir", "manifests");
+    static final int DAYS = Integer.getInteger("manifest.days", 1);
+    static final int THREADS = Integer.getInteger("manifest.threads", 4);
+    static final Format FORMAT = Format.valueOf(System.getProperty("manifest.format", "csv").toUpperCase());
+    static final boolean GZIP = Boolean.parseBoolean(System.getProperty("manifest.gzip", "true"));
+    static final Integer FETCH_SIZE = Integer.getInteger("manifest.fetchSize");
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int ROW_GROUP_SIZE = 4096;
+    private static final byte[] COLUMNAR_MAGIC = "AMF1".getBytes(StandardCharsets.US_ASCII);
+    private static final String[] COLUMNS = {"PNR", "Seat_No", "Passenger_id", "Name", "Email_id", "Phone_num", "Baggage_Weight"};
+
+    static final String MANIFEST_QUERY =
+            "SELECT r.PNR, r.Seat_No, p.Passenger_id, p.Name, p.Email_id, p.Phone_num, " +
+                    "(SELECT COALESCE(SUM(b.Weight), 0) FROM BAGGAGE b " +
+                    "WHERE b.Passenger_ID = r.Passenger_ID AND b.PNR = r.PNR) AS Baggage_Weight " +
+                    "FROM RESERVATION r " +
+                    "JOIN PASSENGERS p ON r.Passenger_ID = p.Passenger_id " +
+                    "WHERE r.Flight_ID = ? AND r.Journey_Date = ? " +
+                    "ORDER BY LENGTH(r.Seat_No), r.Seat_No";
+
+    private final ConnectionPool pool;
+    private final Path directory;
+    private final int threads;
+    private final Format format;
+    private final boolean gzip;
+
+    ManifestExporter(ConnectionPool pool, Path directory, int threads, Format format, boolean gzip) {
+        this.pool = pool;
+        this.directory = directory;
+        this.threads = Math.max(1, threads);
+        this.format = format;
+        this.gzip = gzip;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LocalDate from = args.length > 0 ? LocalDate.parse(args[0]) : LocalDate.now();
+        ConnectionPool pool = new ConnectionPool(AirlineBackendService.DB_URL, AirlineBackendService.USER,
+                AirlineBackendService.PASS, THREADS, THREADS, 30_000L, 4);
+        try {
+            Result result = new ManifestExporter(pool, Paths.get(DIRECTORY), THREADS, FORMAT, GZIP)
+                    .export(from, from.plusDays(DAYS - 1));
+            System.out.println(result);
+        } finally {
+            pool.close();
+        }
+    }
+
+    public Result export(LocalDate from, LocalDate to) throws SQLException, IOException {
+        long start = System.nanoTime();
+        List<Object[]> flightDates = pool.withConnection(conn -> loadFlightDates(conn, from, to));
+
+        LongAdder rows = new LongAdder();
+        LongAdder bytes = new LongAdder();
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "manifest-export-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>(flightDates.size());
+            for (Object[] flightDate : flightDates) {
+                int flightId = (Integer) flightDate[0];
+                LocalDate journeyDate = (LocalDate) flightDate[1];
+                futures.add(executor.submit(() -> {
+                    Path file = exportFlight(flightId, journeyDate, rows);
+                    bytes.add(Files.size(file));
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Manifest export interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new SQLException("Manifest export failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return new Result(from, to, flightDates.size(), rows.sum(), bytes.sum(), System.nanoTime() - start);
+    }
+
+    private static List<Object[]> loadFlightDates(Connection conn, LocalDate from, LocalDate to) throws SQLException {
+        List<Object[]> flightDates = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT Flight_id, Journey_Date FROM FLIGHT_AVAILABILITY WHERE Journey_Date BETWEEN ? AND ?")) {
+            ps.setDate(1, Date.valueOf(from));
+            ps.setDate(2, Date.valueOf(to));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    flightDates.add(new Object[]{rs.getInt("Flight_id"), rs.getDate("Journey_Date").toLocalDate()});
+                }
+            }
+        }
+        return flightDates;
+    }
+
+    private Path exportFlight(int flightId, LocalDate journeyDate, LongAdder rows) throws SQLException, IOException {
+        Path dir = directory.resolve(journeyDate.toString());
+        Files.createDirectories(dir);
+        String name = "manifest-" + flightId + "-" + journeyDate + (format == Format.CSV ? ".csv" : ".amf") + (gzip ? ".gz" : "");
+        Path target = dir.resolve(name);
+        Path temp = dir.resolve(name + ".tmp");
+
+        try (Connection conn = pool.borrow();
+             PreparedStatement ps = conn.prepareStatement(MANIFEST_QUERY, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            ps.setFetchSize(ConnectionPool.streamingFetchSize(conn, FETCH_SIZE));
+            ps.setInt(1, flightId);
+            ps.setDate(2, Date.valueOf(journeyDate));
+            try (ResultSet rs = ps.executeQuery();
+                 Sink sink = new Sink(temp, gzip)) {
+                rows.add(format == Format.CSV ? writeCsv(rs, sink) : writeColumnar(rs, sink));
+            }
+        } catch (SQLException | IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return target;
+    }
+
+    private static long writeCsv(ResultSet rs, Sink sink) throws SQLException, IOException {
+        sink.putAscii(String.join(",", COLUMNS));
+        sink.putAscii("\n");
+        long count = 0;
+        StringBuilder line = new StringBuilder(256);
+        while (rs.next()) {
+            line.setLength(0);
+            csvField(line, rs.getString("PNR")).append(',');
+            csvField(line, rs.getString("Seat_No")).append(',');
+            line.append(rs.getInt("Passenger_id")).append(',');
+            csvField(line, rs.getString("Name")).append(',');
+            csvField(line, rs.getString("Email_id")).append(',');
+            csvField(line, rs.getString("Phone_num")).append(',');
+            line.append(rs.getDouble("Baggage_Weight")).append('\n');
+            sink.putUtf8(line);
+            count++;
+        }
+        return count;
+    }
+
+    private static StringBuilder csvField(StringBuilder line, String value) {
+        if (value == null) {
+            return line;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return line.append(value);
+        }
+        return line.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private static long writeColumnar(ResultSet rs, Sink sink) throws SQLException, IOException {
+        sink.putBytes(COLUMNAR_MAGIC);
+        sink.putInt(COLUMNS.length);
+        for (String column : COLUMNS) {
+            sink.putString(column);
+        }
+
+        String[] pnrs = new String[ROW_GROUP_SIZE];
+        String[] seats = new String[ROW_GROUP_SIZE];
+        int[] passengerIds = new int[ROW_GROUP_SIZE];
+        String[] names = new String[ROW_GROUP_SIZE];
+        String[] emails = new String[ROW_GROUP_SIZE];
+        String[] phones = new String[ROW_GROUP_SIZE];
+        double[] weights = new double[ROW_GROUP_SIZE];
+        long count = 0;
+        int group = 0;
+        while (true) {
+            boolean more = rs.next();
+            if (more) {
+                pnrs[group] = rs.getString("PNR");
+                seats[group] = rs.getString("Seat_No");
+                passengerIds[group] = rs.getInt("Passenger_id");
+                names[group] = rs.getString("Name");
+                emails[group] = rs.getString("Email_id");
+                phones[group] = rs.getString("Phone_num");
+                weights[group] = rs.getDouble("Baggage_Weight");
+                group++;
+                count++;
+            }
+            if (group == ROW_GROUP_SIZE || (!more && group > 0)) {
+                sink.putInt(group);
+                putStrings(sink, pnrs, group);
+                putStrings(sink, seats, group);
+                for (int i = 0; i < group; i++) {
+                    sink.putInt(passengerIds[i]);
+                }
+                putStrings(sink, names, group);
+                putStrings(sink, emails, group);
+                putStrings(sink, phones, group);
+                for (int i = 0; i < group; i++) {
+                    sink.putDouble(weights[i]);
+                }
+                group = 0;
+            }
+            if (!more) {
+                sink.putInt(0);
+                return count;
+            }
+        }
+    }
+
+    private static void putStrings(Sink sink, String[] values, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            sink.putString(values[i]);
+        }
+    }
+
+    private static final class Sink implements AutoCloseable {
+        private final FileChannel file;
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        Sink(Path path, boolean gzip) throws IOException {
+            file = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            if (gzip) {
+                OutputStream out = new GZIPOutputStream(Channels.newOutputStream(file), BUFFER_SIZE);
+                channel = Channels.newChannel(out);
+            } else {
+                channel = file;
+            }
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        void putDouble(double value) throws IOException {
+            ensure(Double.BYTES);
+            buffer.putDouble(value);
+        }
+
+        void putString(String value) throws IOException {
+            if (value == null) {
+                putInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            putBytes(bytes);
+        }
+
+        void putAscii(String value) throws IOException {
+            putBytes(value.getBytes(StandardCharsets.US_ASCII));
+        }
+
+        void putUtf8(CharSequence value) throws IOException {
+            putBytes(value.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        void putBytes(byte[] bytes) throws IOException {
+            if (bytes.length > buffer.capacity()) {
+                flush();
+                ByteBuffer wrapped = ByteBuffer.wrap(bytes);
+                while (wrapped.hasRemaining()) {
+                    channel.write(wrapped);
+                }
+                return;
+            }
+            ensure(bytes.length);
+            buffer.put(bytes);
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+                channel.close();
+            } finally {
+                file.close();
+            }
+        }
+    }
+
+    static final class Result {
+        private final LocalDate from;
+        private final LocalDate to;
+        private final int files;
+        private final long rows;
+        private final long bytes;
+        private final long elapsedNanos;
+
+        Result(LocalDate from, LocalDate to, int files, long rows, long bytes, long elapsedNanos) {
+            this.from = from;
+            this.to = to;
+            this.files = files;
+            this.rows = rows;
+            this.bytes = bytes;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getFiles() { return files; }
+        public long getRows() { return rows; }
+        public long getBytes() { return bytes; }
+        public long getElapsedNanos() { return elapsedNanos; }
+
+        public double getRowsPerSecond() {
+            return elapsedNanos == 0 ? 0 : rows * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("manifests[%s..%s, files=%d, rows=%d, bytes=%d, %.1fs, %.0f rows/s]",
+                    from, to, files, rows, bytes, elapsedNanos / 1_000_000_000.0, getRowsPerSecond());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+
+class OperationStats {
+
+    private final String name;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalRoundTrips = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxRoundTrips = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private volatile int lastRoundTrips;
+
+    OperationStats(String name) {
+        this.name = name;
+    }
+
+    public void record(int roundTrips, long nanos) {
+        count.increment();
+        totalRoundTrips.add(roundTrips);
+        totalNanos.add(nanos);
+        maxRoundTrips.accumulateAndGet(roundTrips, Math::max);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+        lastRoundTrips = roundTrips;
+    }
+
+    public String getName() { return name; }
+    public long getCount() { return count.sum(); }
+    public int getLastRoundTrips() { return lastRoundTrips; }
+    public long getMaxRoundTrips() { return maxRoundTrips.get(); }
+
+    public double getAverageRoundTrips() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) totalRoundTrips.sum() / n;
+    }
+
+    public double getAverageMillis() {
+        long n = count.sum();
+        return n == 0 ? 0 : totalNanos.sum() / 1_000_000.0 / n;
+    }
+
+    public double getMaxMillis() {
+        return maxNanos.get() / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[count=%d, roundTrips avg=%.1f last=%d max=%d, latency avg=%.2fms max=%.2fms]",
+                name, getCount(), getAverageRoundTrips(), lastRoundTrips, getMaxRoundTrips(),
+                getAverageMillis(), getMaxMillis());
+    }
+}
@@ -0,0 +1,80 @@
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+
+class PnrGenerator {
+
+    private static final String ALPHABET = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
+    private static final int PNR_LENGTH = 7;
+    private static final int BITS = PNR_LENGTH * 5;
+    private static final long MASK = (1L << BITS) - 1;
+    private static final long MULTIPLIER_1 = 0x2545F491L;
+    private static final long MULTIPLIER_2 = 0x1B873593L;
+    private static final String SEQUENCE_NAME = "PNR";
+
+    private final ConnectionPool pool;
+    private final int blockSize;
+    private long next;
+    private long blockEnd;
+
+    PnrGenerator(ConnectionPool pool, int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        this.pool = pool;
+        this.blockSize = blockSize;
+    }
+
+    public synchronized String next() throws SQLException {
+        if (next >= blockEnd) {
+            allocateBlock();
+        }
+        return encode(next++);
+    }
+
+    private void allocateBlock() throws SQLException {
+        long end = pool.inTransaction(conn -> {
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "UPDATE PNR_SEQUENCE SET Next_Value = Next_Value + ? WHERE Sequence_Name = ?")) {
+                ps.setInt(1, blockSize);
+                ps.setString(2, SEQUENCE_NAME);
+                if (ps.executeUpdate() != 1) {
+                    throw new SQLException("PNR_SEQUENCE has no row for '" + SEQUENCE_NAME + "'");
+                }
+            }
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "SELECT Next_Value FROM PNR_SEQUENCE WHERE Sequence_Name = ?")) {
+                ps.setString(1, SEQUENCE_NAME);
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                    return rs.getLong("Next_Value");
+                }
+            }
+        });
+
+        if (end > MASK + 1) {
+            throw new SQLException("PNR sequence exhausted");
+        }
+        next = end - blockSize;
+        blockEnd = end;
+    }
+
+    static String encode(long sequence) {
+        long x = scramble(sequence & MASK);
+        char[] pnr = new char[PNR_LENGTH];
+        for (int i = PNR_LENGTH - 1; i >= 0; i--) {
+            pnr[i] = ALPHABET.charAt((int) (x & 31));
+            x >>>= 5;
+        }
+        return new String(pnr);
+    }
+
+    private static long scramble(long x) {
+        x = (x * MULTIPLIER_1) & MASK;
+        x ^= x >>> 15;
+        x = (x * MULTIPLIER_2) & MASK;
+        x ^= x >>> 13;
+        return x;
+    }
+}
@@ -0,0 +1,213 @@
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+
+class QueryPlanCheck {
+
+    private static final Pattern H2_TABLE_SCAN = Pattern.compile("/\\*\\s*([\\w.]+)\\.tableScan");
+
+    public static void main(String[] args) throws SQLException {
+        int failures = 0;
+        try (Connection conn = DriverManager.getConnection(AirlineBackendService.DB_URL,
+                AirlineBackendService.USER, AirlineBackendService.PASS)) {
+            for (CheckedQuery query : queries()) {
+                List<String> scans = explain(conn, query);
+                if (scans.isEmpty()) {
+                    System.out.println("OK    " + query.name);
+                } else {
+                    failures++;
+                    System.out.println("SCAN  " + query.name + " -> " + String.join(", ", scans));
+                }
+            }
+        }
+
+        System.out.println(failures == 0 ? "All query plans use indexes" : failures + " query plan(s) contain full scans");
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    static List<CheckedQuery> queries() {
+        Date today = Date.valueOf(LocalDate.now());
+        Time midnight = Time.valueOf("00:00:00");
+        List<CheckedQuery> queries = new ArrayList<>();
+
+        queries.add(new CheckedQuery("searchFlights",
+                "SELECT f.Flight_id FROM FLIGHTS f " +
+                        "JOIN FLIGHT_AVAILABILITY fa ON f.Flight_id = fa.Flight_id " +
+                        "WHERE f.Origin = ? AND f.Destination = ? " +
+                        "AND fa.Journey_Date = ? " +
+                        "ORDER BY f.Departure_time",
+                "DEL", "BOM", today));
+        queries.add(new CheckedQuery("getRouteAvailability",
+                "SELECT Flights, Available_Seats, Min_Price FROM ROUTE_AVAILABILITY " +
+                        "WHERE Origin = ? AND Destination = ? AND Journey_Date = ?",
+                "DEL", "BOM", today));
+        queries.add(new CheckedQuery("getFareCalendar",
+                "SELECT fa.Journey_Date, MIN(f.Price) AS Lowest_Fare, " +
+                        "SUM(fa.Available_Seats) AS Available_Seats, COUNT(*) AS Flights " +
+                        "FROM FLIGHTS f " +
+                        "JOIN FLIGHT_AVAILABILITY fa ON f.Flight_id = fa.Flight_id " +
+                        "WHERE f.Origin = ? AND f.Destination = ? " +
+                        "AND fa.Journey_Date BETWEEN ? AND ? AND fa.Available_Seats > 0 " +
+                        "AND (fa.Journey_Date > ? OR f.Departure_time > ?) " +
+                        "GROUP BY fa.Journey_Date " +
+                        "ORDER BY fa.Journey_Date",
+                "DEL", "BOM", today, Date.valueOf(LocalDate.now().plusDays(30)), today, Time.valueOf(LocalTime.now())));
+        queries.add(new CheckedQuery("AvailabilityRollout.existingDays",
+                "SELECT Journey_Date FROM FLIGHT_AVAILABILITY WHERE Flight_id = ? AND Journey_Date BETWEEN ? AND ?",
+                1, today, Date.valueOf(LocalDate.now().plusDays(365))));
+        queries.add(new CheckedQuery("ManifestExporter.manifest", ManifestExporter.MANIFEST_QUERY,
+                1, today));
+        queries.add(new CheckedQuery("searchConnections",
+                "SELECT Flight_id, Journey_Date, Available_Seats FROM FLIGHT_AVAILABILITY " +
+                        "WHERE Journey_Date BETWEEN ? AND ? AND Available_Seats >= ?",
+                today, Date.valueOf(LocalDate.now().plusDays(3)), 1));
+        queries.add(new CheckedQuery("getSeatNumberForPassenger",
+                "SELECT Seat_No FROM RESERVATION WHERE Passenger_ID = ?", 1));
+        queries.add(new CheckedQuery("getPnrForPassenger",
+                "SELECT PNR FROM RESERVATION WHERE Passenger_ID = ?", 1));
+        queries.add(new CheckedQuery("BaggageAllowance.loadTotals",
+                "SELECT Passenger_ID, Baggage_type, SUM(Weight) AS Total_Weight FROM BAGGAGE " +
+                        "WHERE PNR = ? GROUP BY Passenger_ID, Baggage_type",
+                "AAAAAA"));
+        queries.add(new CheckedQuery("BaggageAllowance.lockPassengers",
+                "SELECT Passenger_ID FROM RESERVATION WHERE PNR = ?", "AAAAAA"));
+        queries.add(new CheckedQuery("getBaggageForPNR",
+                "SELECT * FROM BAGGAGE WHERE PNR = ?", "AAAAAA"));
+        queries.add(new CheckedQuery("getPassengersForPNR",
+                "SELECT p.Passenger_ID, p.Name " +
+                        "FROM PASSENGERS p " +
+                        "JOIN RESERVATION r ON p.Passenger_ID = r.Passenger_ID " +
+                        "WHERE r.PNR = ?",
+                "AAAAAA"));
+        queries.add(new CheckedQuery("getPassengersForFlight",
+                "SELECT p.Passenger_id, p.Name, p.Email_id, p.Phone_num, r.Seat_No, r.PNR " +
+                        "FROM RESERVATION r " +
+                        "JOIN PASSENGERS p ON r.Passenger_ID = p.Passenger_id " +
+                        "WHERE r.Flight_ID = ? AND r.Journey_Date = ? " +
+                        "ORDER BY p.Name",
+                1, today));
+        queries.add(new CheckedQuery("getReservationsByPNR",
+                "SELECT * FROM RESERVATION WHERE PNR = ?", "AAAAAA"));
+        queries.add(new CheckedQuery("cancelTicket.lock",
+                AirlineBackendService.lockReservationsSql(AirlineBackendService.LOCK_BY_PNR), "AAAAAA"));
+        queries.add(new CheckedQuery("cancelTickets.lock",
+                AirlineBackendService.lockReservationsSql(AirlineBackendService.lockByPnrs(2)), "AAAAAA", "AAAAAB"));
+        queries.add(new CheckedQuery("cancelFlightReservations.lock",
+                AirlineBackendService.lockReservationsSql(AirlineBackendService.LOCK_BY_FLIGHT_DATE), 1, today));
+        queries.add(new CheckedQuery("cancelTicket.deletePassengers",
+                "DELETE FROM PASSENGERS WHERE Passenger_ID IN (?, ?)", 1, 2));
+        for (String column : new String[]{"Email_id", "Phone_num"}) {
+            queries.add(new CheckedQuery("updatePassengerDetails.select." + column,
+                    AirlineBackendService.selectPassengerDetailSql(column), 1));
+            queries.add(new CheckedQuery("updatePassengerDetails.update." + column,
+                    AirlineBackendService.updatePassengerDetailSql(column), "x", 1));
+        }
+        queries.add(new CheckedQuery("getReservationsPage",
+                "SELECT * FROM RESERVATION " +
+                        "WHERE PNR > ? OR (PNR = ? AND Passenger_ID > ?) " +
+                        "ORDER BY PNR, Passenger_ID LIMIT ?",
+                "AAAAAA", "AAAAAA", 0, 200));
+        queries.add(new CheckedQuery("getPaymentsPage",
+                "SELECT * FROM PAYMENT WHERE Payment_ID > ? ORDER BY Payment_ID LIMIT ?", 0, 200));
+        queries.add(new CheckedQuery("getBaggagePage",
+                "SELECT * FROM BAGGAGE WHERE Baggage_ID > ? ORDER BY Baggage_ID LIMIT ?", 0, 200));
+        queries.add(new CheckedQuery("getFlightsPage",
+                "SELECT * FROM FLIGHTS " +
+                        "WHERE Departure_time > ? OR (Departure_time = ? AND Flight_id > ?) " +
+                        "ORDER BY Departure_time, Flight_id LIMIT ?",
+                midnight, midnight, 0, 200));
+        queries.add(new CheckedQuery("SeatInventory.selectAvailable",
+                SeatInventory.SELECT_AVAILABLE, 1, today));
+        queries.add(new CheckedQuery("SeatInventory.assignSeats",
+                SeatInventory.OCCUPIED_SEATS, 1, today));
+        queries.add(new CheckedQuery("SeatInventory.decrementAvailable",
+                SeatInventory.DECREMENT_AVAILABLE, 1, 1, today, 1));
+        queries.add(new CheckedQuery("SeatInventory.decrementLastSeats",
+                SeatInventory.DECREMENT_LAST_SEATS, 1, 1, today, 1));
+        queries.add(new CheckedQuery("SeatInventory.incrementAvailable",
+                SeatInventory.INCREMENT_AVAILABLE, 1, 1, today));
+        queries.add(new CheckedQuery("SeatInventory.updateRouteSeats",
+                SeatInventory.UPDATE_ROUTE_SEATS, 1, 1, 1, today));
+        queries.add(new CheckedQuery("SeatInventory.refreshRouteFlights",
+                SeatInventory.REFRESH_ROUTE_FLIGHTS, 1, 1, today));
+        queries.add(new CheckedQuery("SeatInventory.rebuildRouteAvailability",
+                SeatInventory.REBUILD_ROUTE_AVAILABILITY + " AND f.Origin = ? AND f.Destination = ? " +
+                        "GROUP BY f.Origin, f.Destination, fa.Journey_Date",
+                today, today, "DEL", "BOM"));
+        queries.add(new CheckedQuery("BookingRequests.findPnr",
+                "SELECT PNR FROM BOOKING_REQUEST WHERE Request_Key = ?", "00000000-0000-0000-0000-000000000000"));
+        queries.add(new CheckedQuery("BookingRequests.purgeExpired",
+                BookingRequests.PURGE_EXPIRED, new Timestamp(System.currentTimeMillis()), BookingRequests.PURGE_BATCH_SIZE));
+        queries.add(new CheckedQuery("PnrGenerator.allocateBlock",
+                "UPDATE PNR_SEQUENCE SET Next_Value = Next_Value + ? WHERE Sequence_Name = ?", 1000, "PNR"));
+        return queries;
+    }
+
+    static List<String> explain(Connection conn, CheckedQuery query) throws SQLException {
+        return conn.getMetaData().getDatabaseProductName().startsWith("H2") ? explainH2(conn, query) : explainMySql(conn, query);
+    }
+
+    private static List<String> explainMySql(Connection conn, CheckedQuery query) throws SQLException {
+        List<String> scans = new ArrayList<>();
+        try (PreparedStatement ps = prepareExplain(conn, query);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                String type = rs.getString("type");
+                if ("ALL".equals(type)) {
+                    scans.add(rs.getString("table") + " (type=" + type + ", key=" + rs.getString("key") + ")");
+                }
+            }
+        }
+        return scans;
+    }
+
+    private static List<String> explainH2(Connection conn, CheckedQuery query) throws SQLException {
+        List<String> scans = new ArrayList<>();
+        try (PreparedStatement ps = prepareExplain(conn, query);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                Matcher matcher = H2_TABLE_SCAN.matcher(rs.getString(1));
+                while (matcher.find()) {
+                    scans.add(matcher.group(1) + " (tableScan)");
+                }
+            }
+        }
+        return scans;
+    }
+
+    private static PreparedStatement prepareExplain(Connection conn, CheckedQuery query) throws SQLException {
+        PreparedStatement ps = conn.prepareStatement("EXPLAIN " + query.sql);
+        for (int i = 0; i < query.params.length; i++) {
+            ps.setObject(i + 1, query.params[i]);
+        }
+        return ps;
+    }
+
+    static final class CheckedQuery {
+        private final String name;
+        private final String sql;
+        private final Object[] params;
+
+        CheckedQuery(String name, String sql, Object... params) {
+            this.name = name;
+            this.sql = sql;
+            this.params = params;
+        }
+
+        public String getName() { return name; }
+    }
+}
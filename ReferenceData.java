@@ -0,0 +1,186 @@
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+
+final class ReferenceData {
+
+    private final Map<String, Airport> airportsByCode;
+    private final Map<Integer, FlightInfo> flightsById;
+    private final List<String> airportLabels;
+    private final List<Integer> flightIds;
+    private final long loadedAt = System.currentTimeMillis();
+
+    private ReferenceData(Map<String, Airport> airportsByCode, Map<Integer, FlightInfo> flightsById) {
+        this.airportsByCode = Collections.unmodifiableMap(airportsByCode);
+        this.flightsById = Collections.unmodifiableMap(flightsById);
+
+        List<String> labels = new ArrayList<>(airportsByCode.size());
+        for (Airport airport : airportsByCode.values()) {
+            labels.add(airport.getLabel());
+        }
+        this.airportLabels = Collections.unmodifiableList(labels);
+        this.flightIds = Collections.unmodifiableList(new ArrayList<>(flightsById.keySet()));
+    }
+
+    static ReferenceData load(Connection conn) throws SQLException {
+        Map<String, Airport> airports = new LinkedHashMap<>();
+        Map<Integer, FlightInfo> flights = new TreeMap<>();
+        try (Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery("SELECT Airport_id, Airport_name, City, Country FROM AIRPORT")) {
+                while (rs.next()) {
+                    Airport airport = new Airport(rs.getString("Airport_id"), rs.getString("Airport_name"),
+                            rs.getString("City"), rs.getString("Country"));
+                    airports.put(airport.getCode(), airport);
+                }
+            }
+            try (ResultSet rs = stmt.executeQuery(
+                    "SELECT Flight_id, Airline, Origin, Destination, Departure_time, Arrival_time, Total_Seats, Price FROM FLIGHTS")) {
+                while (rs.next()) {
+                    FlightInfo flight = new FlightInfo(rs.getInt("Flight_id"), rs.getString("Airline"),
+                            rs.getString("Origin"), rs.getString("Destination"),
+                            rs.getTime("Departure_time"), rs.getTime("Arrival_time"),
+                            rs.getInt("Total_Seats"), rs.getDouble("Price"));
+                    flights.put(flight.getFlightId(), flight);
+                }
+            }
+        }
+        return new ReferenceData(airports, flights);
+    }
+
+    public Airport getAirport(String code) {
+        return airportsByCode.get(code);
+    }
+
+    public String getAirportName(String code) {
+        Airport airport = airportsByCode.get(code);
+        return airport == null ? code : airport.getName();
+    }
+
+    public FlightInfo getFlight(int flightId) {
+        return flightsById.get(flightId);
+    }
+
+    public Collection<FlightInfo> getFlights() {
+        return flightsById.values();
+    }
+
+    public List<String> getAirportLabels() {
+        return airportLabels;
+    }
+
+    public List<Integer> getFlightIds() {
+        return flightIds;
+    }
+
+    public long getLoadedAt() {
+        return loadedAt;
+    }
+
+    public boolean sameAs(ReferenceData other) {
+        return other != null && airportsByCode.equals(other.airportsByCode) && flightsById.equals(other.flightsById);
+    }
+
+    @Override
+    public String toString() {
+        return "referenceData[airports=" + airportsByCode.size() + ", flights=" + flightsById.size() + "]";
+    }
+
+    static final class Airport {
+        private final String code;
+        private final String name;
+        private final String city;
+        private final String country;
+
+        Airport(String code, String name, String city, String country) {
+            this.code = code;
+            this.name = name;
+            this.city = city;
+            this.country = country;
+        }
+
+        public String getCode() { return code; }
+        public String getName() { return name; }
+        public String getCity() { return city; }
+        public String getCountry() { return country; }
+
+        public String getLabel() {
+            return code + " - " + name + " (" + city + ")";
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Airport)) {
+                return false;
+            }
+            Airport other = (Airport) o;
+            return code.equals(other.code) && name.equals(other.name)
+                    && city.equals(other.city) && country.equals(other.country);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(code, name, city, country);
+        }
+    }
+
+    static final class FlightInfo {
+        private final int flightId;
+        private final String airline;
+        private final String origin;
+        private final String destination;
+        private final Time departureTime;
+        private final Time arrivalTime;
+        private final int totalSeats;
+        private final double price;
+
+        FlightInfo(int flightId, String airline, String origin, String destination,
+                   Time departureTime, Time arrivalTime, int totalSeats, double price) {
+            this.flightId = flightId;
+            this.airline = airline;
+            this.origin = origin;
+            this.destination = destination;
+            this.departureTime = departureTime;
+            this.arrivalTime = arrivalTime;
+            this.totalSeats = totalSeats;
+            this.price = price;
+        }
+
+        public int getFlightId() { return flightId; }
+        public String getAirline() { return airline; }
+        public String getOrigin() { return origin; }
+        public String getDestination() { return destination; }
+        public Time getDepartureTime() { return departureTime; }
+        public Time getArrivalTime() { return arrivalTime; }
+        public int getTotalSeats() { return totalSeats; }
+        public double getPrice() { return price; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof FlightInfo)) {
+                return false;
+            }
+            FlightInfo other = (FlightInfo) o;
+            return flightId == other.flightId && totalSeats == other.totalSeats
+                    && Double.compare(price, other.price) == 0
+                    && airline.equals(other.airline) && origin.equals(other.origin)
+                    && destination.equals(other.destination)
+                    && departureTime.equals(other.departureTime) && arrivalTime.equals(other.arrivalTime);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(flightId, airline, origin, destination, departureTime, arrivalTime, totalSeats, price);
+        }
+    }
+}
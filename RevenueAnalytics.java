@@ -0,0 +1,143 @@
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.DoubleAdder;
+
+
+class RevenueAnalytics {
+
+    enum Dimension { ROUTE, AIRLINE, DAY }
+
+    private final ConnectionPool pool;
+    private final long maxAgeMillis;
+    private final ConcurrentHashMap<Long, FlightDateTotals> totals = new ConcurrentHashMap<>();
+    private volatile long loadedAt;
+
+    RevenueAnalytics(ConnectionPool pool, long maxAgeMillis) {
+        this.pool = pool;
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    public synchronized void refresh() throws SQLException {
+        Map<Long, FlightDateTotals> recorded = new HashMap<>();
+        Map<Long, FlightDateTotals> loaded = pool.withConnection(conn -> {
+            Map<Long, FlightDateTotals> rollup = new HashMap<>();
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "SELECT fa.Flight_id, fa.Journey_Date, COALESCE(s.Seats_Sold, 0) AS Seats_Sold, " +
+                            "COALESCE(s.Revenue, 0) AS Revenue " +
+                            "FROM FLIGHT_AVAILABILITY fa " +
+                            "LEFT JOIN (SELECT b.Flight_ID, b.Journey_Date, SUM(b.Passengers) AS Seats_Sold, " +
+                            "SUM(COALESCE(pay.Amount, 0)) AS Revenue " +
+                            "FROM (SELECT PNR, Flight_ID, Journey_Date, COUNT(*) AS Passengers FROM RESERVATION " +
+                            "GROUP BY PNR, Flight_ID, Journey_Date) b " +
+                            "LEFT JOIN PAYMENT pay ON pay.PNR = b.PNR " +
+                            "GROUP BY b.Flight_ID, b.Journey_Date) s " +
+                            "ON s.Flight_ID = fa.Flight_id AND s.Journey_Date = fa.Journey_Date")) {
+                totals.forEach((key, flightDate) -> recorded.put(key, flightDate.copy()));
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        FlightDateTotals flightDate = new FlightDateTotals();
+                        flightDate.seatsSold.set(rs.getInt("Seats_Sold"));
+                        flightDate.revenue.add(rs.getDouble("Revenue"));
+                        rollup.put(SeatInventory.key(rs.getInt("Flight_id"), rs.getDate("Journey_Date").toLocalDate()), flightDate);
+                    }
+                }
+            }
+            return rollup;
+        });
+
+        totals.keySet().retainAll(loaded.keySet());
+        loaded.forEach((key, flightDate) -> totals.merge(key, flightDate, (current, fresh) -> {
+            current.rebase(fresh, recorded.get(key));
+            return current;
+        }));
+        loadedAt = System.currentTimeMillis();
+    }
+
+    public void invalidate() {
+        loadedAt = 0;
+    }
+
+    public void recordBooking(int flightId, LocalDate date, int seats, double amount) {
+        FlightDateTotals flightDate = flightDate(flightId, date);
+        flightDate.seatsSold.addAndGet(seats);
+        flightDate.revenue.add(amount);
+    }
+
+    public void recordCancellation(int flightId, LocalDate date, int seats, double amount) {
+        FlightDateTotals flightDate = flightDate(flightId, date);
+        flightDate.seatsSold.addAndGet(-seats);
+        flightDate.revenue.add(-amount);
+    }
+
+    private FlightDateTotals flightDate(int flightId, LocalDate date) {
+        return totals.computeIfAbsent(SeatInventory.key(flightId, date), k -> new FlightDateTotals());
+    }
+
+    public List<AirlineBookingSystemFrontend.RevenueSummary> summarize(Dimension dimension, LocalDate from, LocalDate to,
+                                                                      ReferenceData reference) throws SQLException {
+        if (loadedAt == 0 || System.currentTimeMillis() - loadedAt > maxAgeMillis) {
+            refresh();
+        }
+
+        long fromDay = from.toEpochDay();
+        long toDay = to.toEpochDay();
+        Map<String, double[]> groups = new TreeMap<>();
+        for (Map.Entry<Long, FlightDateTotals> entry : totals.entrySet()) {
+            long key = entry.getKey();
+            LocalDate date = SeatInventory.dateOf(key);
+            if (date.toEpochDay() < fromDay || date.toEpochDay() > toDay) {
+                continue;
+            }
+            ReferenceData.FlightInfo flight = reference.getFlight(SeatInventory.flightIdOf(key));
+            if (flight == null) {
+                continue;
+            }
+            String label;
+            switch (dimension) {
+                case ROUTE: label = flight.getOrigin() + " → " + flight.getDestination(); break;
+                case AIRLINE: label = flight.getAirline(); break;
+                default: label = date.toString(); break;
+            }
+            double[] group = groups.computeIfAbsent(label, k -> new double[4]);
+            group[0]++;
+            group[1] += entry.getValue().seatsSold.get();
+            group[2] += flight.getTotalSeats();
+            group[3] += entry.getValue().revenue.sum();
+        }
+
+        List<AirlineBookingSystemFrontend.RevenueSummary> summaries = new ArrayList<>(groups.size());
+        groups.forEach((label, group) -> summaries.add(new AirlineBookingSystemFrontend.RevenueSummary(
+                label, (int) group[0], (int) group[1], (int) group[2], group[3])));
+        if (dimension != Dimension.DAY) {
+            summaries.sort(Comparator.comparingDouble(AirlineBookingSystemFrontend.RevenueSummary::getRevenue).reversed());
+        }
+        return summaries;
+    }
+
+    private static final class FlightDateTotals {
+        private final AtomicInteger seatsSold = new AtomicInteger();
+        private final DoubleAdder revenue = new DoubleAdder();
+
+        FlightDateTotals copy() {
+            FlightDateTotals copy = new FlightDateTotals();
+            copy.seatsSold.set(seatsSold.get());
+            copy.revenue.add(revenue.sum());
+            return copy;
+        }
+
+        void rebase(FlightDateTotals loaded, FlightDateTotals recorded) {
+            seatsSold.addAndGet(loaded.seatsSold.get() - (recorded == null ? 0 : recorded.seatsSold.get()));
+            revenue.add(loaded.revenue.sum() - (recorded == null ? 0 : recorded.revenue.sum()));
+        }
+    }
+}
@@ -0,0 +1,147 @@
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+
+class RouteSearchCache {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LinkedHashMap<String, CachedRoute> entries;
+    private final Map<Long, Set<String>> routesByFlightDate = new HashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    RouteSearchCache(int maxEntries, long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.entries = new LinkedHashMap<String, CachedRoute>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedRoute> eldest) {
+                if (size() > RouteSearchCache.this.maxEntries) {
+                    evictions.increment();
+                    unindex(eldest.getKey(), eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized List<AirlineBookingSystemFrontend.Flight> get(String origin, String destination, LocalDate date) {
+        String key = key(origin, destination, date);
+        CachedRoute cached = entries.get(key);
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+        if (System.nanoTime() - cached.loadedAt > ttlNanos) {
+            entries.remove(key);
+            unindex(key, cached);
+            expirations.increment();
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return cached.schedule;
+    }
+
+    public synchronized void put(String origin, String destination, LocalDate date,
+                                 List<AirlineBookingSystemFrontend.Flight> schedule) {
+        String key = key(origin, destination, date);
+        CachedRoute previous = entries.remove(key);
+        if (previous != null) {
+            unindex(key, previous);
+        }
+        CachedRoute cached = new CachedRoute(date, List.copyOf(schedule));
+        entries.put(key, cached);
+        for (AirlineBookingSystemFrontend.Flight flight : cached.schedule) {
+            routesByFlightDate.computeIfAbsent(SeatInventory.key(flight.getFlightId(), date), k -> new HashSet<>()).add(key);
+        }
+    }
+
+    public synchronized void invalidate(int flightId, LocalDate date) {
+        Set<String> keys = routesByFlightDate.remove(SeatInventory.key(flightId, date));
+        if (keys == null) {
+            return;
+        }
+        for (String key : keys) {
+            CachedRoute cached = entries.remove(key);
+            if (cached != null) {
+                unindex(key, cached);
+                invalidations.increment();
+            }
+        }
+    }
+
+    public synchronized void invalidateDate(LocalDate date) {
+        Iterator<Map.Entry<String, CachedRoute>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, CachedRoute> entry = it.next();
+            if (entry.getValue().date.equals(date)) {
+                it.remove();
+                unindex(entry.getKey(), entry.getValue());
+                invalidations.increment();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        invalidations.add(entries.size());
+        entries.clear();
+        routesByFlightDate.clear();
+    }
+
+    private void unindex(String key, CachedRoute cached) {
+        for (AirlineBookingSystemFrontend.Flight flight : cached.schedule) {
+            long flightDate = SeatInventory.key(flight.getFlightId(), cached.date);
+            Set<String> keys = routesByFlightDate.get(flightDate);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    routesByFlightDate.remove(flightDate);
+                }
+            }
+        }
+    }
+
+    private static String key(String origin, String destination, LocalDate date) {
+        return origin + '|' + destination + '|' + date;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHits() { return hits.sum(); }
+    public long getMisses() { return misses.sum(); }
+    public long getEvictions() { return evictions.sum(); }
+    public long getExpirations() { return expirations.sum(); }
+    public long getInvalidations() { return invalidations.sum(); }
+
+    @Override
+    public String toString() {
+        return String.format("searchCache[size=%d/%d, hits=%d, misses=%d, evictions=%d, expirations=%d, invalidations=%d]",
+                size(), maxEntries, getHits(), getMisses(), getEvictions(), getExpirations(), getInvalidations());
+    }
+
+    private static final class CachedRoute {
+        private final LocalDate date;
+        private final List<AirlineBookingSystemFrontend.Flight> schedule;
+        private final long loadedAt = System.nanoTime();
+
+        CachedRoute(LocalDate date, List<AirlineBookingSystemFrontend.Flight> schedule) {
+            this.date = date;
+            this.schedule = schedule;
+        }
+    }
+}
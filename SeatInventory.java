@@ -0,0 +1,401 @@
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+
+class SeatInventory {
+
+    static final long REFRESH_MS = Long.getLong("airline.inventory.refreshMs", 60_000L);
+    private static final long SOLD_OUT_RECHECK_MS = 1_000L;
+
+    private static final String ROUTE_OF_FLIGHT =
+            "WHERE Origin = (SELECT Origin FROM FLIGHTS WHERE Flight_id = ?) " +
+                    "AND Destination = (SELECT Destination FROM FLIGHTS WHERE Flight_id = ?) AND Journey_Date = ?";
+
+    private static final String OPEN_FLIGHTS_ON_ROUTE =
+            "FROM FLIGHT_AVAILABILITY fa JOIN FLIGHTS f ON f.Flight_id = fa.Flight_id " +
+                    "WHERE f.Origin = ROUTE_AVAILABILITY.Origin AND f.Destination = ROUTE_AVAILABILITY.Destination " +
+                    "AND fa.Journey_Date = ROUTE_AVAILABILITY.Journey_Date AND fa.Available_Seats > 0";
+
+    static final String UPDATE_ROUTE_SEATS =
+            "UPDATE ROUTE_AVAILABILITY SET Available_Seats = Available_Seats + ? " + ROUTE_OF_FLIGHT;
+
+    static final String REFRESH_ROUTE_FLIGHTS =
+            "UPDATE ROUTE_AVAILABILITY SET Flights = (SELECT COUNT(*) " + OPEN_FLIGHTS_ON_ROUTE + "), " +
+                    "Min_Price = (SELECT MIN(f.Price) " + OPEN_FLIGHTS_ON_ROUTE + ") " + ROUTE_OF_FLIGHT;
+
+    static final String SELECT_AVAILABLE =
+            "SELECT Available_Seats FROM FLIGHT_AVAILABILITY WHERE Flight_id = ? AND Journey_Date = ?";
+
+    static final String DECREMENT_AVAILABLE =
+            "UPDATE FLIGHT_AVAILABILITY SET Available_Seats = Available_Seats - ? " +
+                    "WHERE Flight_id = ? AND Journey_Date = ? AND Available_Seats > ?";
+
+    static final String DECREMENT_LAST_SEATS =
+            "UPDATE FLIGHT_AVAILABILITY SET Available_Seats = Available_Seats - ? " +
+                    "WHERE Flight_id = ? AND Journey_Date = ? AND Available_Seats = ?";
+
+    static final String INCREMENT_AVAILABLE =
+            "UPDATE FLIGHT_AVAILABILITY SET Available_Seats = Available_Seats + ? " +
+                    "WHERE Flight_id = ? AND Journey_Date = ?";
+
+    static final String OCCUPIED_SEATS =
+            "SELECT Seat_No FROM RESERVATION WHERE Flight_ID = ? AND Journey_Date = ?";
+
+    static final String REBUILD_ROUTE_AVAILABILITY =
+            "INSERT INTO ROUTE_AVAILABILITY (Origin, Destination, Journey_Date, Flights, Available_Seats, Min_Price) " +
+                    "SELECT f.Origin, f.Destination, fa.Journey_Date, " +
+                    "SUM(CASE WHEN fa.Available_Seats > 0 THEN 1 ELSE 0 END), SUM(fa.Available_Seats), " +
+                    "MIN(CASE WHEN fa.Available_Seats > 0 THEN f.Price END) " +
+                    "FROM FLIGHT_AVAILABILITY fa " +
+                    "JOIN FLIGHTS f ON f.Flight_id = fa.Flight_id " +
+                    "WHERE fa.Journey_Date BETWEEN ? AND ?";
+
+    private final ConnectionPool pool;
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder rejectedDecrements = new LongAdder();
+
+    SeatInventory(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    public int reconcile() throws SQLException {
+        Map<Long, Entry> loaded = new HashMap<>();
+        Map<Long, Integer> drifted = new HashMap<>();
+        pool.withConnection(conn -> {
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "SELECT fa.Flight_id, fa.Journey_Date, fa.Available_Seats, f.Total_Seats, " +
+                            "f.Total_Seats - COALESCE(r.Booked, 0) AS Expected_Seats " +
+                            "FROM FLIGHT_AVAILABILITY fa " +
+                            "JOIN FLIGHTS f ON f.Flight_id = fa.Flight_id " +
+                            "LEFT JOIN (SELECT Flight_ID, Journey_Date, COUNT(*) AS Booked FROM RESERVATION " +
+                            "GROUP BY Flight_ID, Journey_Date) r " +
+                            "ON r.Flight_ID = fa.Flight_id AND r.Journey_Date = fa.Journey_Date " +
+                            "WHERE fa.Journey_Date >= CURDATE()");
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    long key = key(rs.getInt("Flight_id"), rs.getDate("Journey_Date").toLocalDate());
+                    int available = rs.getInt("Available_Seats");
+                    int totalSeats = rs.getInt("Total_Seats");
+                    if (available != Math.max(0, rs.getInt("Expected_Seats"))) {
+                        drifted.put(key, totalSeats);
+                    }
+                    loaded.put(key, new Entry(available));
+                }
+            }
+            return null;
+        });
+
+        int repaired = 0;
+        for (Map.Entry<Long, Integer> drift : drifted.entrySet()) {
+            long key = drift.getKey();
+            int[] seats = pool.inTransaction(conn -> repair(conn, flightIdOf(key), dateOf(key), drift.getValue()));
+            if (seats != null) {
+                loaded.get(key).available.set(seats[0]);
+                if (seats[1] != seats[0]) {
+                    repaired++;
+                }
+            }
+        }
+        entries.putAll(loaded);
+        return repaired;
+    }
+
+    private static int[] repair(Connection conn, int flightId, LocalDate date, int totalSeats) throws SQLException {
+        int available;
+        try (PreparedStatement ps = conn.prepareStatement(SELECT_AVAILABLE + " FOR UPDATE")) {
+            ps.setInt(1, flightId);
+            ps.setDate(2, Date.valueOf(date));
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                available = rs.getInt(1);
+            }
+        }
+
+        int booked;
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT COUNT(*) FROM RESERVATION WHERE Flight_ID = ? AND Journey_Date = ?")) {
+            ps.setInt(1, flightId);
+            ps.setDate(2, Date.valueOf(date));
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                booked = rs.getInt(1);
+            }
+        }
+
+        int expected = Math.max(0, totalSeats - booked);
+        if (expected != available) {
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "UPDATE FLIGHT_AVAILABILITY SET Available_Seats = ? WHERE Flight_id = ? AND Journey_Date = ?")) {
+                ps.setInt(1, expected);
+                ps.setInt(2, flightId);
+                ps.setDate(3, Date.valueOf(date));
+                ps.executeUpdate();
+            }
+        }
+        return new int[]{expected, available};
+    }
+
+    public int rebuildRouteAvailability(LocalDate from, LocalDate to) throws SQLException {
+        return pool.inTransaction(conn -> rebuildRoutes(conn, null, null, from, to));
+    }
+
+    public int rebuildRouteAvailability(String origin, String destination, LocalDate from, LocalDate to) throws SQLException {
+        return pool.inTransaction(conn -> rebuildRoutes(conn, origin, destination, from, to));
+    }
+
+    private static int rebuildRoutes(Connection conn, String origin, String destination,
+                                     LocalDate from, LocalDate to) throws SQLException {
+        String route = origin == null ? "" : " AND Origin = ? AND Destination = ?";
+        try (PreparedStatement ps = conn.prepareStatement(
+                "DELETE FROM ROUTE_AVAILABILITY WHERE Journey_Date BETWEEN ? AND ?" + route)) {
+            setRouteRange(ps, origin, destination, from, to);
+            ps.executeUpdate();
+        }
+        try (PreparedStatement ps = conn.prepareStatement(REBUILD_ROUTE_AVAILABILITY +
+                (origin == null ? "" : " AND f.Origin = ? AND f.Destination = ?") +
+                " GROUP BY f.Origin, f.Destination, fa.Journey_Date")) {
+            setRouteRange(ps, origin, destination, from, to);
+            return ps.executeUpdate();
+        }
+    }
+
+    private static void setRouteRange(PreparedStatement ps, String origin, String destination,
+                                      LocalDate from, LocalDate to) throws SQLException {
+        ps.setDate(1, Date.valueOf(from));
+        ps.setDate(2, Date.valueOf(to));
+        if (origin != null) {
+            ps.setString(3, origin);
+            ps.setString(4, destination);
+        }
+    }
+
+    public int getAvailableSeats(int flightId, LocalDate date) throws SQLException {
+        Entry entry = entry(flightId, date);
+        return entry == null ? 0 : entry.available.get();
+    }
+
+    public boolean reserveSeats(int flightId, LocalDate date, int count) throws SQLException {
+        Entry entry = entry(flightId, date);
+        if (entry == null || count <= 0) {
+            return false;
+        }
+        while (true) {
+            int current = entry.available.get();
+            if (current < count) {
+                if (!entry.isOlderThan(SOLD_OUT_RECHECK_MS) || refresh(entry, flightId, date) < count) {
+                    return false;
+                }
+                continue;
+            }
+            if (entry.available.compareAndSet(current, current - count)) {
+                return true;
+            }
+        }
+    }
+
+    public void releaseSeats(int flightId, LocalDate date, int count) {
+        Entry entry = entries.get(key(flightId, date));
+        if (entry != null) {
+            entry.available.addAndGet(count);
+        }
+    }
+
+    public List<String> assignSeats(Connection conn, int flightId, LocalDate date, int totalSeats, int count)
+            throws SQLException {
+        SeatMap seats = new SeatMap(totalSeats);
+        try (PreparedStatement ps = conn.prepareStatement(OCCUPIED_SEATS)) {
+            ps.setInt(1, flightId);
+            ps.setDate(2, Date.valueOf(date));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    seats.occupy(rs.getString("Seat_No"));
+                }
+            }
+        }
+        return seats.allocate(count);
+    }
+
+    public boolean decrementAvailable(Connection conn, int flightId, LocalDate date, int count) throws SQLException {
+        updateRouteSeats(conn, flightId, date, -count);
+        if (updateAvailable(conn, DECREMENT_AVAILABLE, flightId, date, count)) {
+            return true;
+        }
+        if (updateAvailable(conn, DECREMENT_LAST_SEATS, flightId, date, count)) {
+            refreshRouteFlights(conn, Collections.singleton(key(flightId, date)));
+            return true;
+        }
+        rejectedDecrements.increment();
+        Entry entry = entries.get(key(flightId, date));
+        if (entry != null) {
+            entry.expire();
+        }
+        return false;
+    }
+
+    public void incrementAvailable(Connection conn, int flightId, LocalDate date, int count) throws SQLException {
+        incrementAvailable(conn, Collections.singletonMap(key(flightId, date), count));
+    }
+
+    public void incrementAvailable(Connection conn, Map<Long, Integer> countsByFlightDate) throws SQLException {
+        Map<Long, Integer> sorted = new TreeMap<>(countsByFlightDate);
+        try (PreparedStatement ps = conn.prepareStatement(UPDATE_ROUTE_SEATS)) {
+            for (Map.Entry<Long, Integer> entry : sorted.entrySet()) {
+                setRouteSeats(ps, flightIdOf(entry.getKey()), dateOf(entry.getKey()), entry.getValue());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        try (PreparedStatement ps = conn.prepareStatement(INCREMENT_AVAILABLE)) {
+            for (Map.Entry<Long, Integer> entry : sorted.entrySet()) {
+                ps.setInt(1, entry.getValue());
+                ps.setInt(2, flightIdOf(entry.getKey()));
+                ps.setDate(3, Date.valueOf(dateOf(entry.getKey())));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        refreshRouteFlights(conn, sorted.keySet());
+    }
+
+    private static void updateRouteSeats(Connection conn, int flightId, LocalDate date, int delta) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(UPDATE_ROUTE_SEATS)) {
+            setRouteSeats(ps, flightId, date, delta);
+            ps.executeUpdate();
+        }
+    }
+
+    private static boolean updateAvailable(Connection conn, String sql, int flightId, LocalDate date, int count)
+            throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, count);
+            ps.setInt(2, flightId);
+            ps.setDate(3, Date.valueOf(date));
+            ps.setInt(4, count);
+            return ps.executeUpdate() == 1;
+        }
+    }
+
+    private static void refreshRouteFlights(Connection conn, Collection<Long> flightDates) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(REFRESH_ROUTE_FLIGHTS)) {
+            for (long flightDate : flightDates) {
+                ps.setInt(1, flightIdOf(flightDate));
+                ps.setInt(2, flightIdOf(flightDate));
+                ps.setDate(3, Date.valueOf(dateOf(flightDate)));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private static void setRouteSeats(PreparedStatement ps, int flightId, LocalDate date, int delta) throws SQLException {
+        ps.setInt(1, delta);
+        ps.setInt(2, flightId);
+        ps.setInt(3, flightId);
+        ps.setDate(4, Date.valueOf(date));
+    }
+
+    public int evictPast(LocalDate today) {
+        int before = entries.size();
+        entries.keySet().removeIf(key -> dateOf(key).isBefore(today));
+        return before - entries.size();
+    }
+
+    public long getRejectedDecrements() {
+        return rejectedDecrements.sum();
+    }
+
+    private Entry entry(int flightId, LocalDate date) throws SQLException {
+        long key = key(flightId, date);
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (entry.isExpired() || REFRESH_MS > 0 && entry.isOlderThan(REFRESH_MS)) {
+                refresh(entry, flightId, date);
+            }
+            return entry;
+        }
+
+        Entry loaded = pool.withConnection(conn -> load(conn, flightId, date));
+        if (loaded == null) {
+            return null;
+        }
+        Entry existing = entries.putIfAbsent(key, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private int refresh(Entry entry, int flightId, LocalDate date) throws SQLException {
+        long checkedAt = System.nanoTime();
+        Integer available = pool.withConnection(conn -> selectAvailable(conn, flightId, date));
+        if (available == null) {
+            entries.remove(key(flightId, date), entry);
+            return 0;
+        }
+        entry.available.set(available);
+        entry.checkedAt = checkedAt;
+        return available;
+    }
+
+    private static Entry load(Connection conn, int flightId, LocalDate date) throws SQLException {
+        Integer available = selectAvailable(conn, flightId, date);
+        return available == null ? null : new Entry(available);
+    }
+
+    private static Integer selectAvailable(Connection conn, int flightId, LocalDate date) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(SELECT_AVAILABLE)) {
+            ps.setInt(1, flightId);
+            ps.setDate(2, Date.valueOf(date));
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : null;
+            }
+        }
+    }
+
+    static long key(int flightId, LocalDate date) {
+        return ((long) flightId << 32) | (date.toEpochDay() & 0xFFFFFFFFL);
+    }
+
+    static int flightIdOf(long key) {
+        return (int) (key >>> 32);
+    }
+
+    static LocalDate dateOf(long key) {
+        return LocalDate.ofEpochDay((int) key);
+    }
+
+    private static final class Entry {
+        private final AtomicInteger available;
+        private volatile long checkedAt = System.nanoTime();
+
+        Entry(int available) {
+            this.available = new AtomicInteger(available);
+        }
+
+        boolean isOlderThan(long millis) {
+            return System.nanoTime() - checkedAt >= TimeUnit.MILLISECONDS.toNanos(millis);
+        }
+
+        boolean isExpired() {
+            return checkedAt == Long.MIN_VALUE;
+        }
+
+        void expire() {
+            checkedAt = Long.MIN_VALUE;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+
+class SeatMap {
+
+    static final String SEAT_LETTERS = "ABCDEF";
+    static final int SEATS_PER_ROW = SEAT_LETTERS.length();
+    private static final String LEGACY_ROW_LETTERS = "ABCDEFGHIJ";
+
+    private final int capacity;
+    private final BitSet occupied;
+    private int occupiedCount;
+    private int firstFree;
+
+    SeatMap(int capacity) {
+        this.capacity = capacity;
+        this.occupied = new BitSet(capacity);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized int getFreeSeats() {
+        return capacity - occupiedCount;
+    }
+
+    public synchronized boolean isOccupied(String seatNo) {
+        int index = index(seatNo);
+        return index >= 0 && index < capacity && occupied.get(index);
+    }
+
+    public synchronized void occupy(String seatNo) {
+        int index = index(seatNo);
+        if (index >= 0 && index < capacity && !occupied.get(index)) {
+            occupied.set(index);
+            occupiedCount++;
+            if (index == firstFree) {
+                firstFree = occupied.nextClearBit(firstFree);
+            }
+        }
+    }
+
+    public synchronized void release(Collection<String> seatNumbers) {
+        for (String seatNo : seatNumbers) {
+            int index = index(seatNo);
+            if (index >= 0 && index < capacity && occupied.get(index)) {
+                occupied.clear(index);
+                occupiedCount--;
+                firstFree = Math.min(firstFree, index);
+            }
+        }
+    }
+
+    public synchronized List<String> allocate(int count) {
+        if (count <= 0 || count > capacity - occupiedCount) {
+            return null;
+        }
+
+        int start = count <= SEATS_PER_ROW ? findBlockInRow(count) : findBlock(count);
+        List<String> seats = new ArrayList<>(count);
+        if (start >= 0) {
+            occupied.set(start, start + count);
+            for (int i = start; i < start + count; i++) {
+                seats.add(label(i));
+            }
+        } else {
+            int index = firstFree;
+            while (seats.size() < count) {
+                occupied.set(index);
+                seats.add(label(index));
+                index = occupied.nextClearBit(index + 1);
+            }
+        }
+
+        occupiedCount += count;
+        firstFree = occupied.nextClearBit(firstFree);
+        return seats;
+    }
+
+    private int findBlockInRow(int count) {
+        int index = firstFree;
+        while (index < capacity) {
+            int rowEnd = Math.min(capacity, (index / SEATS_PER_ROW + 1) * SEATS_PER_ROW);
+            int runEnd = occupied.nextSetBit(index);
+            if (runEnd < 0 || runEnd > rowEnd) {
+                runEnd = rowEnd;
+            }
+            if (runEnd - index >= count) {
+                return index;
+            }
+            index = occupied.nextClearBit(runEnd);
+        }
+        return -1;
+    }
+
+    private int findBlock(int count) {
+        int index = firstFree;
+        while (index < capacity) {
+            int runEnd = occupied.nextSetBit(index);
+            if (runEnd < 0 || runEnd > capacity) {
+                runEnd = capacity;
+            }
+            if (runEnd - index >= count) {
+                return index;
+            }
+            index = occupied.nextClearBit(runEnd);
+        }
+        return -1;
+    }
+
+    static String label(int index) {
+        return (index / SEATS_PER_ROW + 1) + String.valueOf(SEAT_LETTERS.charAt(index % SEATS_PER_ROW));
+    }
+
+    static int index(String seatNo) {
+        if (seatNo == null || seatNo.length() < 2) {
+            return -1;
+        }
+
+        char first = seatNo.charAt(0);
+        if (Character.isLetter(first)) {
+            int row = LEGACY_ROW_LETTERS.indexOf(first);
+            int seat = seatNo.charAt(1) - '1';
+            if (seatNo.length() != 2 || row < 0 || seat < 0 || seat >= SEATS_PER_ROW) {
+                return -1;
+            }
+            return row * SEATS_PER_ROW + seat;
+        }
+
+        int seat = SEAT_LETTERS.indexOf(seatNo.charAt(seatNo.length() - 1));
+        if (seat < 0) {
+            return -1;
+        }
+        try {
+            int row = Integer.parseInt(seatNo.substring(0, seatNo.length() - 1));
+            return row < 1 ? -1 : (row - 1) * SEATS_PER_ROW + seat;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+
+class StatementCache {
+
+    private final Connection physical;
+    private final int maxSize;
+    private final Map<String, StatementStats> stats;
+    private final Runnable onExecute;
+    private final LinkedHashMap<String, CachedStatement> statements;
+
+    StatementCache(Connection physical, int maxSize, Map<String, StatementStats> stats, Runnable onExecute) {
+        this.physical = physical;
+        this.maxSize = maxSize;
+        this.stats = stats;
+        this.onExecute = onExecute;
+        this.statements = new LinkedHashMap<String, CachedStatement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                if (size() > StatementCache.this.maxSize) {
+                    eldest.getValue().evict();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+        StatementStats statementStats = stats.computeIfAbsent(sql, StatementStats::new);
+        String key = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS ? "K:" + sql : "N:" + sql;
+        CachedStatement cached = statements.get(key);
+        if (cached != null && !cached.inUse) {
+            statementStats.reuses.increment();
+            cached.inUse = true;
+            return cached.proxy;
+        }
+
+        PreparedStatement statement = physical.prepareStatement(sql, autoGeneratedKeys);
+        statementStats.prepares.increment();
+        CachedStatement created = new CachedStatement(statement, statementStats, onExecute, cached == null && maxSize > 0);
+        if (created.cached) {
+            statements.put(key, created);
+        }
+        created.inUse = true;
+        return created.proxy;
+    }
+
+    public void close() {
+        for (CachedStatement cached : statements.values()) {
+            cached.evict();
+        }
+        statements.clear();
+    }
+
+    private static final class CachedStatement implements InvocationHandler {
+        private final PreparedStatement statement;
+        private final StatementStats stats;
+        private final Runnable onExecute;
+        private final PreparedStatement proxy;
+        private final List<ResultSet> openResults = new ArrayList<>();
+        private boolean cached;
+        private boolean inUse;
+
+        CachedStatement(PreparedStatement statement, StatementStats stats, Runnable onExecute, boolean cached) {
+            this.statement = statement;
+            this.stats = stats;
+            this.onExecute = onExecute;
+            this.cached = cached;
+            this.proxy = (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(), new Class<?>[]{PreparedStatement.class}, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("close".equals(name)) {
+                release();
+                return null;
+            }
+            if ("isClosed".equals(name)) {
+                return !inUse || statement.isClosed();
+            }
+            if (!inUse) {
+                throw new SQLException("Statement has already been closed");
+            }
+            if (name.startsWith("execute")) {
+                onExecute.run();
+                long start = System.nanoTime();
+                try {
+                    return track(method.invoke(statement, args));
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                } finally {
+                    stats.latency.record(System.nanoTime() - start);
+                }
+            }
+            try {
+                return track(method.invoke(statement, args));
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private Object track(Object result) {
+            if (result instanceof ResultSet) {
+                openResults.add((ResultSet) result);
+            }
+            return result;
+        }
+
+        private void release() throws SQLException {
+            if (!inUse) {
+                return;
+            }
+            inUse = false;
+            if (!cached) {
+                statement.close();
+                return;
+            }
+            try {
+                for (ResultSet rs : openResults) {
+                    rs.close();
+                }
+                openResults.clear();
+                statement.clearParameters();
+                statement.clearBatch();
+            } catch (SQLException e) {
+                cached = false;
+                statement.close();
+                throw e;
+            }
+        }
+
+        void evict() {
+            cached = false;
+            if (!inUse) {
+                try {
+                    statement.close();
+                } catch (SQLException ignored) {
+                }
+            }
+        }
+    }
+
+    public static class StatementStats {
+        private final String sql;
+        private final LongAdder prepares = new LongAdder();
+        private final LongAdder reuses = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        StatementStats(String sql) {
+            this.sql = sql;
+        }
+
+        public String getSql() { return sql; }
+        public long getPrepares() { return prepares.sum(); }
+        public long getReuses() { return reuses.sum(); }
+        public long getExecutions() { return latency.getCount(); }
+        public LatencyHistogram getLatency() { return latency; }
+
+        @Override
+        public String toString() {
+            String text = sql.length() > 80 ? sql.substring(0, 77) + "..." : sql;
+            return String.format("statement[prepared=%d, reused=%d, %s] %s",
+                    getPrepares(), getReuses(), latency, text);
+        }
+    }
+}
@@ -3,145 +3,494 @@ import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import java.sql.Date;
 import java.sql.Time;
 
 
 class AirlineBackendService {
-    private static final String DB_URL = "jdbc:mysql://localhost:3306/airline_db";
-    private static final String USER = "root";
-    private static final String PASS = "*Kihtrak7141#";
-    private Connection conn;
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    static final String DB_URL = System.getProperty("airline.db.url", "jdbc:mysql://localhost:3306/airline_db?rewriteBatchedStatements=true&useLocalSessionState=true&useServerPrepStmts=true");
+    static final String USER = System.getProperty("airline.db.user", "root");
+    static final String PASS = System.getProperty("airline.db.password", "*Kihtrak7141#");
+    private static final int POOL_SIZE = Integer.getInteger("airline.pool.size", 10);
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("airline.pool.maxInFlight", POOL_SIZE);
+    private static final long POOL_MAX_WAIT_MS = Long.getLong("airline.pool.maxWaitMs", 5_000L);
+    private static final int STATEMENT_CACHE_SIZE = Integer.getInteger("airline.pool.statementCacheSize", 64);
+    private static final int PNR_BLOCK_SIZE = Integer.getInteger("airline.pnr.blockSize", 1000);
+    private static final int SEARCH_CACHE_SIZE = Integer.getInteger("airline.searchCache.size", 1000);
+    private static final long SEARCH_CACHE_TTL_MS = Long.getLong("airline.searchCache.ttlMs", 10 * 60 * 1000L);
+    private static final long REFERENCE_REFRESH_MS = Long.getLong("airline.referenceData.refreshMs", 5 * 60 * 1000L);
+    private static final int MIN_LAYOVER_MINUTES = Integer.getInteger("airline.connections.minLayoverMinutes", 45);
+    private static final int MAX_LAYOVER_MINUTES = Integer.getInteger("airline.connections.maxLayoverMinutes", 6 * 60);
+    private static final int MAX_CONNECTION_RESULTS = Integer.getInteger("airline.connections.maxResults", 20);
+    private static final int FARE_CALENDAR_MAX_DAYS = Integer.getInteger("airline.fareCalendar.maxDays", 92);
+    private static final int CANCEL_BATCH_SIZE = Integer.getInteger("airline.cancel.batchSize", 500);
+    private static final int BAGGAGE_CACHE_SIZE = Integer.getInteger("airline.baggage.cacheSize", 10_000);
+    private static final int BOOKING_REQUEST_CACHE_SIZE = Integer.getInteger("airline.booking.requestCacheSize", 10_000);
+    private static final long BOOKING_REQUEST_TTL_MS = Long.getLong("airline.booking.requestTtlMs", 24 * 60 * 60 * 1000L);
+    private static final long BOOKING_REQUEST_PURGE_MS = Long.getLong("airline.booking.requestPurgeMs", 60 * 60 * 1000L);
+    private static final long ANALYTICS_MAX_AGE_MS = Long.getLong("airline.analytics.maxAgeMs", 15 * 60 * 1000L);
+    private static final Integer STREAM_FETCH_SIZE = Integer.getInteger("airline.stream.fetchSize");
+    private ConnectionPool pool;
+    private SeatInventory inventory;
+    private BaggageAllowance baggageAllowance;
+    private RevenueAnalytics analytics;
+    private BookingRequests bookingRequests;
+    private PnrGenerator pnrGenerator;
+    private volatile ReferenceData referenceData;
+    private ScheduledExecutorService maintenance;
+    private volatile ConnectionSearch connectionSearch;
+    private final RouteSearchCache searchCache = new RouteSearchCache(SEARCH_CACHE_SIZE, SEARCH_CACHE_TTL_MS);
+    static final String LOCK_BY_PNR = "PNR = ?";
+    static final String LOCK_BY_FLIGHT_DATE = "Flight_ID = ? AND Journey_Date = ?";
+    private final OperationStats bookingStats = new OperationStats("bookTicket");
+    private final OperationStats cancelStats = new OperationStats("cancelTicket");
+    private final OperationStats bulkCancelStats = new OperationStats("bulkCancel");
+
+    static AirlineBackendService create() {
+        return BackendMetrics.ENABLED ? new InstrumentedAirlineBackendService() : new AirlineBackendService();
+    }
 
     public void initializeDatabaseConnection() throws SQLException {
-        conn = DriverManager.getConnection(DB_URL, USER, PASS);
+        pool = new ConnectionPool(DB_URL, USER, PASS, POOL_SIZE, MAX_IN_FLIGHT, POOL_MAX_WAIT_MS, STATEMENT_CACHE_SIZE);
+        try (Connection conn = pool.borrow()) {
+            if (!conn.isValid(5)) {
+                throw new SQLException("Database connection is not valid");
+            }
+        }
+        pnrGenerator = new PnrGenerator(pool, PNR_BLOCK_SIZE);
+        referenceData = pool.withConnection(ReferenceData::load);
+        maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "airline-maintenance");
+            t.setDaemon(true);
+            return t;
+        });
+        if (REFERENCE_REFRESH_MS > 0) {
+            maintenance.scheduleWithFixedDelay(() -> {
+                try {
+                    refreshReferenceData();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }, REFERENCE_REFRESH_MS, REFERENCE_REFRESH_MS, TimeUnit.MILLISECONDS);
+        }
+        inventory = new SeatInventory(pool);
+        inventory.reconcile();
+        maintenance.scheduleWithFixedDelay(() -> inventory.evictPast(LocalDate.now()), 1, 1, TimeUnit.HOURS);
+        inventory.rebuildRouteAvailability(LocalDate.now(), LocalDate.now().plusDays(AvailabilityRollout.HORIZON_DAYS));
+        baggageAllowance = new BaggageAllowance(pool, BAGGAGE_CACHE_SIZE);
+        analytics = new RevenueAnalytics(pool, ANALYTICS_MAX_AGE_MS);
+        bookingRequests = new BookingRequests(pool, BOOKING_REQUEST_CACHE_SIZE, BOOKING_REQUEST_TTL_MS);
+        if (BOOKING_REQUEST_PURGE_MS > 0) {
+            maintenance.scheduleWithFixedDelay(() -> {
+                try {
+                    bookingRequests.purgeExpired();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }, 0, BOOKING_REQUEST_PURGE_MS, TimeUnit.MILLISECONDS);
+        }
     }
 
-    public List<AirlineBookingSystemFrontend.Flight> searchFlights(String origin, String destination, Date journeyDate) throws SQLException {
-        List<AirlineBookingSystemFrontend.Flight> flights = new ArrayList<>();
+    public void shutdown() {
+        if (maintenance != null) {
+            maintenance.shutdownNow();
+        }
+        if (pool != null) {
+            pool.close();
+        }
+    }
 
-        LocalDate journeyLocalDate = journeyDate.toLocalDate();
+    public ReferenceData refreshReferenceData() throws SQLException {
+        ReferenceData loaded = pool.withConnection(ReferenceData::load);
+        ReferenceData previous = referenceData;
+        referenceData = loaded;
+        if (!loaded.sameAs(previous)) {
+            searchCache.clear();
+            rebuildChangedRoutes(previous, loaded);
+        }
+        return loaded;
+    }
+
+    private void rebuildChangedRoutes(ReferenceData previous, ReferenceData loaded) throws SQLException {
+        if (previous == null || inventory == null) {
+            return;
+        }
+        Set<List<String>> routes = new LinkedHashSet<>();
+        for (ReferenceData.FlightInfo flight : loaded.getFlights()) {
+            ReferenceData.FlightInfo old = previous.getFlight(flight.getFlightId());
+            if (!flight.equals(old)) {
+                routes.add(Arrays.asList(flight.getOrigin(), flight.getDestination()));
+                if (old != null) {
+                    routes.add(Arrays.asList(old.getOrigin(), old.getDestination()));
+                }
+            }
+        }
+        for (ReferenceData.FlightInfo old : previous.getFlights()) {
+            if (loaded.getFlight(old.getFlightId()) == null) {
+                routes.add(Arrays.asList(old.getOrigin(), old.getDestination()));
+            }
+        }
         LocalDate today = LocalDate.now();
-        boolean isToday = journeyLocalDate.equals(today);
+        for (List<String> route : routes) {
+            inventory.rebuildRouteAvailability(route.get(0), route.get(1),
+                    today, today.plusDays(AvailabilityRollout.HORIZON_DAYS));
+        }
+    }
 
-        String query = "SELECT f.Flight_id, f.Airline, a1.Airport_name as OriginName, " +
-                "a2.Airport_name as DestName, f.Departure_time, f.Arrival_time, " +
-                "f.Price, fa.Available_Seats " +
-                "FROM FLIGHTS f " +
-                "JOIN AIRPORT a1 ON f.Origin = a1.Airport_id " +
-                "JOIN AIRPORT a2 ON f.Destination = a2.Airport_id " +
+    public AvailabilityRollout.Result rolloutAvailability(int horizonDays) throws SQLException {
+        AvailabilityRollout.Result result = new AvailabilityRollout(pool, Math.min(AvailabilityRollout.THREADS, POOL_SIZE),
+                AvailabilityRollout.BATCH_SIZE).rollout(LocalDate.now(), horizonDays);
+        if (result.getInserted() > 0) {
+            inventory.rebuildRouteAvailability(result.getFrom(), result.getTo());
+            analytics.invalidate();
+            for (LocalDate date = result.getFrom(); !date.isAfter(result.getTo()); date = date.plusDays(1)) {
+                searchCache.invalidateDate(date);
+            }
+        }
+        return result;
+    }
+
+    public List<AirlineBookingSystemFrontend.RevenueSummary> getRevenueSummary(RevenueAnalytics.Dimension dimension,
+                                                                               Date fromDate, Date toDate) throws SQLException {
+        return analytics.summarize(dimension, fromDate.toLocalDate(), toDate.toLocalDate(), referenceData);
+    }
+
+    public void refreshAnalytics() throws SQLException {
+        analytics.refresh();
+    }
+
+    public ReferenceData getReferenceData() {
+        return referenceData;
+    }
+
+    public ConnectionPool.PoolStats getPoolStats() {
+        return pool.getStats();
+    }
+
+    public List<StatementCache.StatementStats> getStatementStats() {
+        return pool == null ? Collections.emptyList() : pool.getStatementStats();
+    }
+
+    public LatencyHistogram getPoolWaitHistogram() {
+        return pool == null ? null : pool.getWaitHistogram();
+    }
+
+    public List<AirlineBookingSystemFrontend.Flight> searchFlights(String origin, String destination, Date journeyDate) throws SQLException {
+        LocalDate journeyLocalDate = journeyDate.toLocalDate();
+        boolean isToday = journeyLocalDate.equals(LocalDate.now());
+        Time now = Time.valueOf(LocalTime.now());
+
+        List<AirlineBookingSystemFrontend.Flight> schedule = searchCache.get(origin, destination, journeyLocalDate);
+        if (schedule == null) {
+            schedule = loadRouteSchedule(origin, destination, journeyDate);
+            searchCache.put(origin, destination, journeyLocalDate, schedule);
+        }
+
+        List<AirlineBookingSystemFrontend.Flight> flights = new ArrayList<>();
+        for (AirlineBookingSystemFrontend.Flight scheduled : schedule) {
+            if (isToday && scheduled.getDepartureTime().compareTo(now) <= 0) {
+                continue;
+            }
+            int availableSeats = inventory.getAvailableSeats(scheduled.getFlightId(), journeyLocalDate);
+            if (availableSeats <= 0) {
+                continue;
+            }
+            flights.add(new AirlineBookingSystemFrontend.Flight(
+                    scheduled.getFlightId(),
+                    scheduled.getAirline(),
+                    scheduled.getOrigin(),
+                    scheduled.getDestination(),
+                    scheduled.getDepartureTime(),
+                    scheduled.getArrivalTime(),
+                    scheduled.getPrice(),
+                    availableSeats
+            ));
+        }
+        return flights;
+    }
+
+    private List<AirlineBookingSystemFrontend.Flight> loadRouteSchedule(String origin, String destination, Date journeyDate) throws SQLException {
+        List<Integer> flightIds = new ArrayList<>();
+        String query = "SELECT f.Flight_id FROM FLIGHTS f " +
                 "JOIN FLIGHT_AVAILABILITY fa ON f.Flight_id = fa.Flight_id " +
                 "WHERE f.Origin = ? AND f.Destination = ? " +
                 "AND fa.Journey_Date = ? " +
-                "AND fa.Available_Seats > 0 ";
+                "ORDER BY f.Departure_time";
+
+        try (Connection conn = pool.borrow();
+             PreparedStatement pstmt = conn.prepareStatement(query)) {
+            pstmt.setString(1, origin);
+            pstmt.setString(2, destination);
+            pstmt.setDate(3, journeyDate);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    flightIds.add(rs.getInt("Flight_id"));
+                }
+            }
+        }
 
-        if (isToday) {
-            query += "AND f.Departure_time > ? ";
+        ReferenceData reference = referenceFor(flightIds);
+        List<AirlineBookingSystemFrontend.Flight> schedule = new ArrayList<>(flightIds.size());
+        for (int flightId : flightIds) {
+            ReferenceData.FlightInfo flight = reference.getFlight(flightId);
+            if (flight != null) {
+                schedule.add(new AirlineBookingSystemFrontend.Flight(
+                        flight.getFlightId(),
+                        flight.getAirline(),
+                        reference.getAirportName(flight.getOrigin()),
+                        reference.getAirportName(flight.getDestination()),
+                        flight.getDepartureTime(),
+                        flight.getArrivalTime(),
+                        flight.getPrice()
+                ));
+            }
         }
+        return schedule;
+    }
 
-        query += "ORDER BY f.Departure_time";
+    public List<AirlineBookingSystemFrontend.FareCalendarDay> getFareCalendar(String origin, String destination,
+                                                                             Date fromDate, Date toDate) throws SQLException {
+        LocalDate from = fromDate.toLocalDate();
+        LocalDate to = toDate.toLocalDate();
+        if (to.isBefore(from) || from.plusDays(FARE_CALENDAR_MAX_DAYS).isBefore(to)) {
+            throw new IllegalArgumentException("Fare calendar window must span 1 to " + FARE_CALENDAR_MAX_DAYS + " days");
+        }
+
+        List<AirlineBookingSystemFrontend.FareCalendarDay> days = new ArrayList<>();
+        String query = "SELECT fa.Journey_Date, MIN(f.Price) AS Lowest_Fare, " +
+                "SUM(fa.Available_Seats) AS Available_Seats, COUNT(*) AS Flights " +
+                "FROM FLIGHTS f " +
+                "JOIN FLIGHT_AVAILABILITY fa ON f.Flight_id = fa.Flight_id " +
+                "WHERE f.Origin = ? AND f.Destination = ? " +
+                "AND fa.Journey_Date BETWEEN ? AND ? AND fa.Available_Seats > 0 " +
+                "AND (fa.Journey_Date > ? OR f.Departure_time > ?) " +
+                "GROUP BY fa.Journey_Date " +
+                "ORDER BY fa.Journey_Date";
 
-        try (PreparedStatement pstmt = conn.prepareStatement(query)) {
+        try (Connection conn = pool.borrow();
+             PreparedStatement pstmt = conn.prepareStatement(query)) {
             pstmt.setString(1, origin);
             pstmt.setString(2, destination);
-            pstmt.setDate(3, journeyDate);
+            pstmt.setDate(3, fromDate);
+            pstmt.setDate(4, toDate);
+            pstmt.setDate(5, Date.valueOf(LocalDate.now()));
+            pstmt.setTime(6, Time.valueOf(LocalTime.now()));
 
-            if (isToday) {
-                pstmt.setTime(4, Time.valueOf(LocalTime.now()));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    days.add(new AirlineBookingSystemFrontend.FareCalendarDay(
+                            rs.getDate("Journey_Date").toLocalDate(),
+                            rs.getDouble("Lowest_Fare"),
+                            rs.getInt("Available_Seats"),
+                            rs.getInt("Flights")
+                    ));
+                }
             }
+        }
+        return days;
+    }
 
-            ResultSet rs = pstmt.executeQuery();
-            while (rs.next()) {
-                AirlineBookingSystemFrontend.Flight flight = new AirlineBookingSystemFrontend.Flight(
-                        rs.getInt("Flight_id"),
-                        rs.getString("Airline"),
-                        rs.getString("OriginName"),
-                        rs.getString("DestName"),
-                        rs.getTime("Departure_time"),
-                        rs.getTime("Arrival_time"),
-                        rs.getDouble("Price")
-                );
-                flights.add(flight);
+    public List<ConnectionSearch.Itinerary> searchConnections(String origin, String destination, Date journeyDate,
+                                                              int passengers, int maxStops,
+                                                              ConnectionSearch.Ranking ranking) throws SQLException {
+        if (maxStops < 0 || maxStops > 2) {
+            throw new IllegalArgumentException("maxStops must be between 0 and 2");
+        }
+        LocalDate journeyLocalDate = journeyDate.toLocalDate();
+        ConnectionSearch search = connectionSearch;
+        if (search == null || search.getReference() != referenceData) {
+            search = new ConnectionSearch(referenceData, MIN_LAYOVER_MINUTES, MAX_LAYOVER_MINUTES);
+            connectionSearch = search;
+        }
+
+        Map<Long, Integer> seatsByFlightDate = new HashMap<>();
+        try (Connection conn = pool.borrow();
+             PreparedStatement pstmt = conn.prepareStatement(
+                     "SELECT Flight_id, Journey_Date, Available_Seats FROM FLIGHT_AVAILABILITY " +
+                             "WHERE Journey_Date BETWEEN ? AND ? AND Available_Seats >= ?")) {
+            pstmt.setDate(1, journeyDate);
+            pstmt.setDate(2, Date.valueOf(journeyLocalDate.plusDays(search.getMaxDayOffset(maxStops))));
+            pstmt.setInt(3, passengers);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    seatsByFlightDate.put(SeatInventory.key(rs.getInt("Flight_id"), rs.getDate("Journey_Date").toLocalDate()),
+                            rs.getInt("Available_Seats"));
+                }
             }
         }
-        return flights;
+
+        LocalTime notBefore = journeyLocalDate.equals(LocalDate.now()) ? LocalTime.now() : null;
+        return search.search(origin, destination, journeyLocalDate, notBefore, passengers, maxStops, ranking,
+                MAX_CONNECTION_RESULTS, seatsByFlightDate);
     }
+
+    private ReferenceData referenceFor(Collection<Integer> flightIds) throws SQLException {
+        ReferenceData reference = referenceData;
+        for (int flightId : flightIds) {
+            if (reference.getFlight(flightId) == null) {
+                return refreshReferenceData();
+            }
+        }
+        return reference;
+    }
+
+    public RouteSearchCache getSearchCache() {
+        return searchCache;
+    }
+
     public String bookTicket(int flightId, Date journeyDate, ObservableList<AirlineBookingSystemFrontend.Passenger> passengers, String paymentMethod) throws SQLException {
-        String pnr = generateUniquePNR();
-        List<Integer> passengerIds = new ArrayList<>();
+        return bookTicket(flightId, journeyDate, passengers, paymentMethod, null);
+    }
 
+    public String bookTicket(int flightId, Date journeyDate, ObservableList<AirlineBookingSystemFrontend.Passenger> passengers,
+                             String paymentMethod, String requestKey) throws SQLException {
+        if (requestKey == null) {
+            return book(flightId, journeyDate, passengers, paymentMethod, null);
+        }
+        CompletableFuture<String> previous = bookingRequests.claim(requestKey);
+        if (previous != null) {
+            return BookingRequests.await(previous);
+        }
         try {
-            conn.setAutoCommit(false);
-
-            for (AirlineBookingSystemFrontend.Passenger passenger : passengers) {
-                try (PreparedStatement pstmt = conn.prepareStatement(
-                        "INSERT INTO PASSENGERS (Name, Email_id, Phone_num) VALUES (?, ?, ?)",
-                        Statement.RETURN_GENERATED_KEYS)) {
-                    pstmt.setString(1, passenger.getName());
-                    pstmt.setString(2, passenger.getEmail());
-                    pstmt.setString(3, passenger.getPhone());
-                    pstmt.executeUpdate();
-
-                    try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
-                        if (generatedKeys.next()) {
-                            passengerIds.add(generatedKeys.getInt(1));
-                        }
-                    }
-                }
+            String pnr = bookingRequests.findPnr(requestKey);
+            if (pnr == null) {
+                pnr = book(flightId, journeyDate, passengers, paymentMethod, requestKey);
+            }
+            bookingRequests.complete(requestKey, pnr);
+            return pnr;
+        } catch (SQLException | RuntimeException ex) {
+            bookingRequests.fail(requestKey, ex);
+            throw ex;
+        }
+    }
+
+    private String book(int flightId, Date journeyDate, ObservableList<AirlineBookingSystemFrontend.Passenger> passengers,
+                        String paymentMethod, String requestKey) throws SQLException {
+        long start = System.nanoTime();
+        try (ConnectionPool.RoundTrips roundTrips = pool.countRoundTrips()) {
+            LocalDate journeyLocalDate = journeyDate.toLocalDate();
+            if (!inventory.reserveSeats(flightId, journeyLocalDate, passengers.size())) {
+                throw new SQLException("Not enough seats available on flight " + flightId + " for " + passengers.size() + " passenger(s)");
             }
 
-            Set<String> assignedSeats = new HashSet<>();
-
-            for (int passengerId : passengerIds) {
-                String seatNo;
-                do {
-                    seatNo = generateSeatNumber();
-                } while (assignedSeats.contains(seatNo));
-                assignedSeats.add(seatNo);
-
-                try (PreparedStatement pstmt = conn.prepareStatement(
-                        "INSERT INTO RESERVATION (PNR, Passenger_ID, Flight_ID, Seat_No, Booking_Date, Journey_Date) " +
-                                "VALUES (?, ?, ?, ?, CURDATE(), ?)")) {
-                    pstmt.setString(1, pnr);
-                    pstmt.setInt(2, passengerId);
-                    pstmt.setInt(3, flightId);
-                    pstmt.setString(4, seatNo);
-                    pstmt.setDate(5, (java.sql.Date) journeyDate);
-                    pstmt.executeUpdate();
+            String pnr;
+            String bookedPnr;
+            double amount;
+
+            try {
+                pnr = pnrGenerator.next();
+                ReferenceData.FlightInfo flight = referenceFor(Collections.singletonList(flightId)).getFlight(flightId);
+                if (flight == null) {
+                    throw new SQLException("Unknown flight " + flightId);
                 }
+                double fare = flight.getPrice();
+                amount = fare * passengers.size();
+                bookedPnr = pool.inTransaction(conn -> {
+                    if (requestKey != null) {
+                        String existing = bookingRequests.insert(conn, requestKey, pnr);
+                        if (existing != null) {
+                            return existing;
+                        }
+                    }
+
+                    if (!inventory.decrementAvailable(conn, flightId, journeyLocalDate, passengers.size())) {
+                        throw new SQLException("Not enough seats available on flight " + flightId + " for " + passengers.size() + " passenger(s)");
+                    }
+                    List<String> seatNumbers = inventory.assignSeats(conn, flightId, journeyLocalDate,
+                            flight.getTotalSeats(), passengers.size());
+                    if (seatNumbers == null) {
+                        throw new SQLException("No free seats left on flight " + flightId + " for " + passengers.size() + " passenger(s)");
+                    }
+
+                    List<Integer> passengerIds = new ArrayList<>(passengers.size());
+                    try (PreparedStatement pstmt = conn.prepareStatement(
+                            "INSERT INTO PASSENGERS (Name, Email_id, Phone_num) VALUES (?, ?, ?)",
+                            Statement.RETURN_GENERATED_KEYS)) {
+                        for (AirlineBookingSystemFrontend.Passenger passenger : passengers) {
+                            pstmt.setString(1, passenger.getName());
+                            pstmt.setString(2, passenger.getEmail());
+                            pstmt.setString(3, passenger.getPhone());
+                            pstmt.addBatch();
+                        }
+                        pstmt.executeBatch();
+
+                        try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                            while (generatedKeys.next()) {
+                                passengerIds.add(generatedKeys.getInt(1));
+                            }
+                        }
+                    }
+                    if (passengerIds.size() != passengers.size()) {
+                        throw new SQLException("Expected " + passengers.size() + " passenger IDs but got " + passengerIds.size());
+                    }
+
+                    try (PreparedStatement pstmt = conn.prepareStatement(
+                            "INSERT INTO RESERVATION (PNR, Passenger_ID, Flight_ID, Seat_No, Booking_Date, Journey_Date) " +
+                                    "VALUES (?, ?, ?, ?, CURDATE(), ?)")) {
+                        for (int i = 0; i < passengerIds.size(); i++) {
+                            pstmt.setString(1, pnr);
+                            pstmt.setInt(2, passengerIds.get(i));
+                            pstmt.setInt(3, flightId);
+                            pstmt.setString(4, seatNumbers.get(i));
+                            pstmt.setDate(5, journeyDate);
+                            pstmt.addBatch();
+                        }
+                        pstmt.executeBatch();
+                    }
+
+                    try (PreparedStatement pstmt = conn.prepareStatement(
+                            "INSERT INTO PAYMENT (PNR, Amount, Payment_Method, Transaction_date) VALUES (?, ?, ?, NOW())")) {
+                        pstmt.setString(1, pnr);
+                        pstmt.setDouble(2, fare * passengers.size());
+                        pstmt.setString(3, paymentMethod);
+                        pstmt.executeUpdate();
+                    }
+
+                    return pnr;
+                });
+            } catch (SQLException | RuntimeException ex) {
+                inventory.releaseSeats(flightId, journeyLocalDate, passengers.size());
+                throw ex;
             }
 
-            try (PreparedStatement pstmt = conn.prepareStatement(
-                    "UPDATE FLIGHT_AVAILABILITY SET Available_Seats = Available_Seats - ? " +
-                            "WHERE Flight_id = ? AND Journey_Date = ?")) {
-                pstmt.setInt(1, passengers.size());
-                pstmt.setInt(2, flightId);
-                pstmt.setDate(3, (java.sql.Date) journeyDate);
-                pstmt.executeUpdate();
+            if (!bookedPnr.equals(pnr)) {
+                inventory.releaseSeats(flightId, journeyLocalDate, passengers.size());
+                return bookedPnr;
             }
 
-            double totalAmount = getFlightPrice(flightId) * passengers.size();
+            analytics.recordBooking(flightId, journeyLocalDate, passengers.size(), amount);
 
-            try (PreparedStatement pstmt = conn.prepareStatement(
-                    "INSERT INTO PAYMENT (PNR, Amount, Payment_Method, Transaction_date) VALUES (?, ?, ?, NOW())")) {
-                pstmt.setString(1, pnr);
-                pstmt.setDouble(2, totalAmount);
-                pstmt.setString(3, paymentMethod);
-                pstmt.executeUpdate();
+            if (inventory.getAvailableSeats(flightId, journeyLocalDate) == 0) {
+                searchCache.invalidate(flightId, journeyLocalDate);
             }
-
-            conn.commit();
+            bookingStats.record(roundTrips.get(), System.nanoTime() - start);
             return pnr;
-        } catch (SQLException ex) {
-            conn.rollback();
-            throw ex;
-        } finally {
-            conn.setAutoCommit(true);
         }
     }
+
+    public OperationStats getBookingStats() {
+        return bookingStats;
+    }
+
+    public BookingRequests getBookingRequests() {
+        return bookingRequests;
+    }
     public List<AirlineBookingSystemFrontend.Reservation> getAllReservations() throws SQLException {
         List<AirlineBookingSystemFrontend.Reservation> reservations = new ArrayList<>();
-        try (Statement stmt = conn.createStatement();
+        try (Connection conn = pool.borrow();
+             Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery("SELECT * FROM RESERVATION")) {
 
             while (rs.next()) {
@@ -158,20 +507,18 @@ class AirlineBackendService {
         return reservations;
     }
 
-    public void addBaggage(int passengerId, String pnr, double weight, String type) throws SQLException {
-        try (PreparedStatement ps = conn.prepareStatement(
-                "INSERT INTO BAGGAGE (Passenger_ID, PNR, Weight, Baggage_type) VALUES (?, ?, ?, ?)")) {
-            ps.setInt(1, passengerId);
-            ps.setString(2, pnr);
-            ps.setDouble(3, weight);
-            ps.setString(4, type);
-            ps.executeUpdate();
-        }
+    public void addBaggage(int passengerId, String pnr, double weight, String type, boolean student) throws SQLException {
+        baggageAllowance.checkIn(pnr, Collections.singletonList(new BaggageAllowance.Bag(passengerId, weight, type, student)));
+    }
+
+    public int checkInBaggage(String pnr, List<BaggageAllowance.Bag> bags) throws SQLException {
+        return baggageAllowance.checkIn(pnr, bags);
     }
 
     public List<AirlineBookingSystemFrontend.Baggage> getBaggageForPNR(String pnr) throws SQLException {
         List<AirlineBookingSystemFrontend.Baggage> baggageList = new ArrayList<>();
-        try (PreparedStatement ps = conn.prepareStatement(
+        try (Connection conn = pool.borrow();
+             PreparedStatement ps = conn.prepareStatement(
                 "SELECT * FROM BAGGAGE WHERE PNR = ?")) {
             ps.setString(1, pnr);
             ResultSet rs = ps.executeQuery();
@@ -191,7 +538,8 @@ class AirlineBackendService {
 
     public List<AirlineBookingSystemFrontend.PassengerComboItem> getPassengersForPNR(String pnr) throws SQLException {
         List<AirlineBookingSystemFrontend.PassengerComboItem> passengers = new ArrayList<>();
-        try (PreparedStatement ps = conn.prepareStatement(
+        try (Connection conn = pool.borrow();
+             PreparedStatement ps = conn.prepareStatement(
                 "SELECT p.Passenger_ID, p.Name " +
                         "FROM PASSENGERS p " +
                         "JOIN RESERVATION r ON p.Passenger_ID = r.Passenger_ID " +
@@ -211,7 +559,8 @@ class AirlineBackendService {
 
     public Map<Integer, String> getPassengersForPNRUPDATE(String pnr) throws SQLException {
         Map<Integer, String> passengers = new HashMap<>();
-        try (PreparedStatement ps = conn.prepareStatement(
+        try (Connection conn = pool.borrow();
+             PreparedStatement ps = conn.prepareStatement(
                 "SELECT p.Passenger_ID, p.Name " +
                         "FROM PASSENGERS p " +
                         "JOIN RESERVATION r ON p.Passenger_ID = r.Passenger_ID " +
@@ -230,24 +579,13 @@ class AirlineBackendService {
     }
 
     public double getTotalBaggageWeight(int passengerId, String pnr, String type) throws SQLException {
-        try (PreparedStatement ps = conn.prepareStatement(
-                "SELECT COALESCE(SUM(Weight), 0) AS total_weight FROM BAGGAGE " +
-                        "WHERE Passenger_ID = ? AND PNR = ? AND Baggage_type = ?")) {
-            ps.setInt(1, passengerId);
-            ps.setString(2, pnr);
-            ps.setString(3, type);
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getDouble("total_weight");
-                }
-            }
-        }
-        return 0;
+        return baggageAllowance.getUsedWeight(passengerId, pnr, type);
     }
 
     public List<AirlineBookingSystemFrontend.Flight> getAllFlights() throws SQLException {
         List<AirlineBookingSystemFrontend.Flight> flights = new ArrayList<>();
-        try (Statement stmt = conn.createStatement();
+        try (Connection conn = pool.borrow();
+             Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery("SELECT * FROM FLIGHTS ORDER BY DEPARTURE_TIME")) {
 
             while (rs.next()) {
@@ -266,25 +604,19 @@ class AirlineBackendService {
     }
 
     public List<Integer> getAllFlightIds() throws SQLException {
-        List<Integer> flightIds = new ArrayList<>();
-        try (Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery("SELECT Flight_id FROM FLIGHTS ORDER BY Flight_id")) {
-            while (rs.next()) {
-                flightIds.add(rs.getInt("Flight_id"));
-            }
-        }
-        return flightIds;
+        return referenceData.getFlightIds();
     }
 
     public List<AirlineBookingSystemFrontend.Passenger> getPassengersForFlight(int flightId, Date journeyDate) throws SQLException {
         List<AirlineBookingSystemFrontend.Passenger> passengers = new ArrayList<>();
-        String query = "SELECT p.Passenger_id, p.Name, p.Email_id, p.Phone_num " +
+        String query = "SELECT p.Passenger_id, p.Name, p.Email_id, p.Phone_num, r.Seat_No, r.PNR " +
                 "FROM RESERVATION r " +
                 "JOIN PASSENGERS p ON r.Passenger_ID = p.Passenger_id " +
                 "WHERE r.Flight_ID = ? AND r.Journey_Date = ? " +
                 "ORDER BY p.Name";
 
-        try (PreparedStatement pstmt = conn.prepareStatement(query)) {
+        try (Connection conn = pool.borrow();
+             PreparedStatement pstmt = conn.prepareStatement(query)) {
             pstmt.setInt(1, flightId);
             pstmt.setDate(2, (java.sql.Date) journeyDate);
             ResultSet rs = pstmt.executeQuery();
@@ -294,7 +626,9 @@ class AirlineBackendService {
                         rs.getInt("Passenger_id"),
                         rs.getString("Name"),
                         rs.getString("Email_id"),
-                        rs.getString("Phone_num")
+                        rs.getString("Phone_num"),
+                        rs.getString("Seat_No"),
+                        rs.getString("PNR")
                 ));
             }
         }
@@ -303,7 +637,8 @@ class AirlineBackendService {
 
     public List<AirlineBookingSystemFrontend.Payment> getAllPayments() throws SQLException {
         List<AirlineBookingSystemFrontend.Payment> payments = new ArrayList<>();
-        try (Statement stmt = conn.createStatement();
+        try (Connection conn = pool.borrow();
+             Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery("SELECT * FROM PAYMENT")) {
 
             while (rs.next()) {
@@ -321,7 +656,8 @@ class AirlineBackendService {
 
     public List<AirlineBookingSystemFrontend.Reservation> getReservationsByPNR(String pnr) throws SQLException {
         List<AirlineBookingSystemFrontend.Reservation> reservations = new ArrayList<>();
-        try (PreparedStatement pstmt = conn.prepareStatement(
+        try (Connection conn = pool.borrow();
+             PreparedStatement pstmt = conn.prepareStatement(
                 "SELECT * FROM RESERVATION WHERE PNR = ?")) {
             pstmt.setString(1, pnr);
             ResultSet rs = pstmt.executeQuery();
@@ -341,70 +677,145 @@ class AirlineBackendService {
     }
 
     public void cancelTicket(String pnr) throws SQLException {
-        try {
-            conn.setAutoCommit(false);
+        long start = System.nanoTime();
+        try (ConnectionPool.RoundTrips roundTrips = pool.countRoundTrips()) {
+            CancelledReservations cancelled = new CancelledReservations();
+            pool.inTransaction(conn -> {
+                cancelled.clear();
+                lockReservations(conn, cancelled, LOCK_BY_PNR, pnr);
+                deleteReservations(conn, cancelled);
+                return null;
+            });
+            finishCancellation(cancelled, cancelStats, roundTrips.get(), start);
+        }
+    }
 
-            try (PreparedStatement checkPs = conn.prepareStatement(
-                    "SELECT Flight_ID, Journey_Date, COUNT(*) AS PassengerCount FROM RESERVATION WHERE PNR = ? GROUP BY Flight_ID, Journey_Date")) {
-                checkPs.setString(1, pnr);
-                ResultSet rs = checkPs.executeQuery();
+    public int cancelTickets(Collection<String> pnrs) throws SQLException {
+        long start = System.nanoTime();
+        List<String> sortedPnrs = new ArrayList<>(new TreeSet<>(pnrs));
+        try (ConnectionPool.RoundTrips roundTrips = pool.countRoundTrips()) {
+            CancelledReservations cancelled = new CancelledReservations();
+            pool.inTransaction(conn -> {
+                cancelled.clear();
+                for (int from = 0; from < sortedPnrs.size(); from += CANCEL_BATCH_SIZE) {
+                    List<String> chunk = sortedPnrs.subList(from, Math.min(sortedPnrs.size(), from + CANCEL_BATCH_SIZE));
+                    lockReservations(conn, cancelled, lockByPnrs(chunk.size()), chunk.toArray());
+                }
+                deleteReservations(conn, cancelled);
+                return null;
+            });
+            return finishCancellation(cancelled, bulkCancelStats, roundTrips.get(), start);
+        }
+    }
 
-                if (rs.next()) {
-                    int flightId = rs.getInt("Flight_ID");
-                    Date journeyDate = rs.getDate("Journey_Date");
-                    int passengerCount = rs.getInt("PassengerCount");
-
-                    List<Integer> passengerIds = new ArrayList<>();
-                    try (PreparedStatement getPassengersPs = conn.prepareStatement(
-                            "SELECT Passenger_ID FROM RESERVATION WHERE PNR = ?")) {
-                        getPassengersPs.setString(1, pnr);
-                        ResultSet passengerRs = getPassengersPs.executeQuery();
-
-                        while (passengerRs.next()) {
-                            passengerIds.add(passengerRs.getInt("Passenger_ID"));
-                        }
-                    }
+    public int cancelFlightReservations(int flightId, Date journeyDate) throws SQLException {
+        long start = System.nanoTime();
+        try (ConnectionPool.RoundTrips roundTrips = pool.countRoundTrips()) {
+            CancelledReservations cancelled = new CancelledReservations();
+            pool.inTransaction(conn -> {
+                cancelled.clear();
+                lockReservations(conn, cancelled, LOCK_BY_FLIGHT_DATE, flightId, journeyDate);
+                deleteReservations(conn, cancelled);
+                return null;
+            });
+            return finishCancellation(cancelled, bulkCancelStats, roundTrips.get(), start);
+        }
+    }
 
-                    try (PreparedStatement deleteBaggagePs = conn.prepareStatement(
-                            "DELETE FROM BAGGAGE WHERE PNR = ?")) {
-                        deleteBaggagePs.setString(1, pnr);
-                        deleteBaggagePs.executeUpdate();
-                    }
+    public OperationStats getCancelStats() {
+        return cancelStats;
+    }
 
-                    try (PreparedStatement deleteReservationsPs = conn.prepareStatement(
-                            "DELETE FROM RESERVATION WHERE PNR = ?")) {
-                        deleteReservationsPs.setString(1, pnr);
-                        deleteReservationsPs.executeUpdate();
-                    }
+    public OperationStats getBulkCancelStats() {
+        return bulkCancelStats;
+    }
 
-                    if (!passengerIds.isEmpty()) {
-                        String placeholders = String.join(",", Collections.nCopies(passengerIds.size(), "?"));
-                        String deletePassengersQuery = "DELETE FROM PASSENGERS WHERE Passenger_ID IN (" + placeholders + ")";
-                        try (PreparedStatement deletePassengersPs = conn.prepareStatement(deletePassengersQuery)) {
-                            for (int i = 0; i < passengerIds.size(); i++) {
-                                deletePassengersPs.setInt(i + 1, passengerIds.get(i));
-                            }
-                            deletePassengersPs.executeUpdate();
-                        }
-                    }
+    static String lockReservationsSql(String condition) {
+        return "SELECT PNR, Passenger_ID, Flight_ID, Journey_Date, Seat_No, " +
+                "(SELECT pay.Amount FROM PAYMENT pay WHERE pay.PNR = RESERVATION.PNR) AS Amount " +
+                "FROM RESERVATION WHERE " + condition + " FOR UPDATE";
+    }
 
-                    try (PreparedStatement updateSeatsPs = conn.prepareStatement(
-                            "UPDATE FLIGHT_AVAILABILITY SET Available_Seats = Available_Seats + ? " +
-                                    "WHERE Flight_ID = ? AND Journey_Date = ?")) {
-                        updateSeatsPs.setInt(1, passengerCount);
-                        updateSeatsPs.setInt(2, flightId);
-                        updateSeatsPs.setDate(3, (java.sql.Date) journeyDate);
-                        updateSeatsPs.executeUpdate();
-                    }
+    static String lockByPnrs(int count) {
+        return "PNR IN (" + placeholders(count) + ")";
+    }
+
+    private static void lockReservations(Connection conn, CancelledReservations cancelled, String condition,
+                                         Object... params) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(lockReservationsSql(condition))) {
+            for (int i = 0; i < params.length; i++) {
+                pstmt.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    cancelled.add(rs.getString("PNR"), rs.getInt("Passenger_ID"), rs.getInt("Flight_ID"),
+                            rs.getDate("Journey_Date").toLocalDate(), rs.getString("Seat_No"), rs.getDouble("Amount"));
                 }
             }
+        }
+    }
 
-            conn.commit();
-        } catch (SQLException ex) {
-            conn.rollback();
-            throw ex;
-        } finally {
-            conn.setAutoCommit(true);
+    private void deleteReservations(Connection conn, CancelledReservations cancelled) throws SQLException {
+        List<Integer> passengerIds = cancelled.passengerIds;
+        for (int from = 0; from < passengerIds.size(); from += CANCEL_BATCH_SIZE) {
+            List<Integer> chunk = passengerIds.subList(from, Math.min(passengerIds.size(), from + CANCEL_BATCH_SIZE));
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "DELETE FROM PASSENGERS WHERE Passenger_ID IN (" + placeholders(chunk.size()) + ")")) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    pstmt.setInt(i + 1, chunk.get(i));
+                }
+                pstmt.executeUpdate();
+            }
+        }
+
+        if (!cancelled.seatsByFlightDate.isEmpty()) {
+            Map<Long, Integer> counts = new HashMap<>();
+            cancelled.seatsByFlightDate.forEach((key, seats) -> counts.put(key, seats.size()));
+            inventory.incrementAvailable(conn, counts);
+        }
+    }
+
+    private int finishCancellation(CancelledReservations cancelled, OperationStats stats, int roundTrips,
+                                   long start) throws SQLException {
+        for (Map.Entry<Long, List<String>> entry : cancelled.seatsByFlightDate.entrySet()) {
+            int flightId = SeatInventory.flightIdOf(entry.getKey());
+            LocalDate journeyDate = SeatInventory.dateOf(entry.getKey());
+            inventory.releaseSeats(flightId, journeyDate, entry.getValue().size());
+            analytics.recordCancellation(flightId, journeyDate, entry.getValue().size(),
+                    cancelled.revenueByFlightDate.getOrDefault(entry.getKey(), 0.0));
+            if (inventory.getAvailableSeats(flightId, journeyDate) == entry.getValue().size()) {
+                searchCache.invalidate(flightId, journeyDate);
+            }
+        }
+        baggageAllowance.evict(cancelled.pnrs);
+        stats.record(roundTrips, System.nanoTime() - start);
+        return cancelled.pnrs.size();
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static final class CancelledReservations {
+        private final Set<String> pnrs = new HashSet<>();
+        private final List<Integer> passengerIds = new ArrayList<>();
+        private final Map<Long, List<String>> seatsByFlightDate = new HashMap<>();
+        private final Map<Long, Double> revenueByFlightDate = new HashMap<>();
+
+        void add(String pnr, int passengerId, int flightId, LocalDate journeyDate, String seatNo, double amount) {
+            long key = SeatInventory.key(flightId, journeyDate);
+            if (pnrs.add(pnr)) {
+                revenueByFlightDate.merge(key, amount, Double::sum);
+            }
+            passengerIds.add(passengerId);
+            seatsByFlightDate.computeIfAbsent(key, k -> new ArrayList<>()).add(seatNo);
+        }
+
+        void clear() {
+            pnrs.clear();
+            passengerIds.clear();
+            seatsByFlightDate.clear();
+            revenueByFlightDate.clear();
         }
     }
 
@@ -420,9 +831,15 @@ class AirlineBackendService {
             throw new IllegalArgumentException("Invalid detail type. Only 'Email' or 'Phone' are allowed.");
         }
 
+        try (Connection conn = pool.borrow()) {
+            updatePassengerDetails(conn, passengerId, column, detailType, newValue);
+        }
+    }
+
+    private void updatePassengerDetails(Connection conn, int passengerId, String column, String detailType,
+                                        String newValue) throws SQLException {
         String currentValue = null;
-        try (PreparedStatement selectPs = conn.prepareStatement(
-                "SELECT " + column + " FROM PASSENGERS WHERE Passenger_ID = ?")) {
+        try (PreparedStatement selectPs = conn.prepareStatement(selectPassengerDetailSql(column))) {
             selectPs.setInt(1, passengerId);
             try (ResultSet rs = selectPs.executeQuery()) {
                 if (rs.next()) {
@@ -435,8 +852,7 @@ class AirlineBackendService {
             throw new IllegalStateException("New " + detailType + " is same as current " + detailType);
         }
 
-        try (PreparedStatement updatePs = conn.prepareStatement(
-                "UPDATE PASSENGERS SET " + column + " = ? WHERE Passenger_ID = ?")) {
+        try (PreparedStatement updatePs = conn.prepareStatement(updatePassengerDetailSql(column))) {
             updatePs.setString(1, newValue);
             updatePs.setInt(2, passengerId);
             int rowsAffected = updatePs.executeUpdate();
@@ -447,40 +863,63 @@ class AirlineBackendService {
         }
     }
 
+    static String selectPassengerDetailSql(String column) {
+        return "SELECT " + column + " FROM PASSENGERS WHERE Passenger_ID = ?";
+    }
+
+    static String updatePassengerDetailSql(String column) {
+        return "UPDATE PASSENGERS SET " + column + " = ? WHERE Passenger_ID = ?";
+    }
+
     public List<AirlineBookingSystemFrontend.FlightAvailability> checkFlightAvailability(String origin, String destination, Date date) throws SQLException {
-        List<AirlineBookingSystemFrontend.FlightAvailability> flights = new ArrayList<>();
-        String query = "SELECT f.Flight_id, f.Airline, a1.Airport_name as Origin, " +
-                "a2.Airport_name as Destination, f.Departure_time, fa.Available_Seats " +
-                "FROM FLIGHTS f " +
-                "JOIN AIRPORT a1 ON f.Origin = a1.Airport_id " +
-                "JOIN AIRPORT a2 ON f.Destination = a2.Airport_id " +
-                "JOIN FLIGHT_AVAILABILITY fa ON f.Flight_id = fa.Flight_id " +
-                "WHERE f.Origin = ? AND f.Destination = ? " +
-                "AND fa.Journey_Date = ? " +
-                "ORDER BY f.Departure_time";
+        return flightAvailability(origin, destination, date);
+    }
 
-        try (PreparedStatement pstmt = conn.prepareStatement(query)) {
+    private List<AirlineBookingSystemFrontend.FlightAvailability> flightAvailability(String origin, String destination, Date date) throws SQLException {
+        LocalDate journeyLocalDate = date.toLocalDate();
+        List<AirlineBookingSystemFrontend.Flight> schedule = searchCache.get(origin, destination, journeyLocalDate);
+        if (schedule == null) {
+            schedule = loadRouteSchedule(origin, destination, date);
+            searchCache.put(origin, destination, journeyLocalDate, schedule);
+        }
+
+        List<AirlineBookingSystemFrontend.FlightAvailability> flights = new ArrayList<>(schedule.size());
+        for (AirlineBookingSystemFrontend.Flight scheduled : schedule) {
+            flights.add(new AirlineBookingSystemFrontend.FlightAvailability(
+                    scheduled.getFlightId(),
+                    scheduled.getAirline(),
+                    scheduled.getOrigin() + " → " + scheduled.getDestination(),
+                    scheduled.getDepartureTime(),
+                    inventory.getAvailableSeats(scheduled.getFlightId(), journeyLocalDate)
+            ));
+        }
+        return flights;
+    }
+
+    public AirlineBookingSystemFrontend.RouteAvailability getRouteAvailability(String origin, String destination, Date date) throws SQLException {
+        List<AirlineBookingSystemFrontend.FlightAvailability> flights = flightAvailability(origin, destination, date);
+        try (Connection conn = pool.borrow();
+             PreparedStatement pstmt = conn.prepareStatement(
+                     "SELECT Flights, Available_Seats, Min_Price FROM ROUTE_AVAILABILITY " +
+                             "WHERE Origin = ? AND Destination = ? AND Journey_Date = ?")) {
             pstmt.setString(1, origin);
             pstmt.setString(2, destination);
-            pstmt.setDate(3, (java.sql.Date) date);
-            ResultSet rs = pstmt.executeQuery();
-
-            while (rs.next()) {
-                flights.add(new AirlineBookingSystemFrontend.FlightAvailability(
-                        rs.getInt("Flight_id"),
-                        rs.getString("Airline"),
-                        rs.getString("Origin") + " → " + rs.getString("Destination"),
-                        rs.getTime("Departure_time"),
-                        rs.getInt("Available_Seats")
-                ));
+            pstmt.setDate(3, date);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) {
+                    return new AirlineBookingSystemFrontend.RouteAvailability(origin, destination, date.toLocalDate(),
+                            0, 0, 0, flights);
+                }
+                return new AirlineBookingSystemFrontend.RouteAvailability(origin, destination, date.toLocalDate(),
+                        rs.getInt("Flights"), rs.getInt("Available_Seats"), rs.getDouble("Min_Price"), flights);
             }
         }
-        return flights;
     }
 
     public List<AirlineBookingSystemFrontend.Baggage> getAllBaggage() throws SQLException {
         List<AirlineBookingSystemFrontend.Baggage> baggageList = new ArrayList<>();
-        try (Statement stmt = conn.createStatement();
+        try (Connection conn = pool.borrow();
+             Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery("SELECT * FROM BAGGAGE")) {
 
             while (rs.next()) {
@@ -496,33 +935,163 @@ class AirlineBackendService {
         return baggageList;
     }
 
-    public List<String> getAllAirports() throws SQLException {
-        List<String> airports = new ArrayList<>();
-        try (Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery("SELECT Airport_id, Airport_name, City FROM AIRPORT")) {
+    public List<AirlineBookingSystemFrontend.Reservation> getReservationsPage(String afterPnr, int afterPassengerId, int limit) throws SQLException {
+        return queryPage("SELECT * FROM RESERVATION " +
+                        "WHERE PNR > ? OR (PNR = ? AND Passenger_ID > ?) " +
+                        "ORDER BY PNR, Passenger_ID LIMIT ?",
+                AirlineBackendService::mapReservation,
+                afterPnr == null ? "" : afterPnr, afterPnr == null ? "" : afterPnr, afterPassengerId, limit);
+    }
 
-            while (rs.next()) {
-                String airportInfo = rs.getString("Airport_id") + " - " +
-                        rs.getString("Airport_name") + " (" +
-                        rs.getString("City") + ")";
-                airports.add(airportInfo);
+    public List<AirlineBookingSystemFrontend.Payment> getPaymentsPage(int afterPaymentId, int limit) throws SQLException {
+        return queryPage("SELECT * FROM PAYMENT WHERE Payment_ID > ? ORDER BY Payment_ID LIMIT ?",
+                AirlineBackendService::mapPayment, afterPaymentId, limit);
+    }
+
+    public List<AirlineBookingSystemFrontend.Baggage> getBaggagePage(int afterBaggageId, int limit) throws SQLException {
+        return queryPage("SELECT * FROM BAGGAGE WHERE Baggage_ID > ? ORDER BY Baggage_ID LIMIT ?",
+                AirlineBackendService::mapBaggage, afterBaggageId, limit);
+    }
+
+    public List<AirlineBookingSystemFrontend.Flight> getFlightsPage(Time afterDepartureTime, int afterFlightId, int limit) throws SQLException {
+        Time after = afterDepartureTime == null ? Time.valueOf(LocalTime.MIDNIGHT) : afterDepartureTime;
+        return queryPage("SELECT * FROM FLIGHTS " +
+                        "WHERE Departure_time > ? OR (Departure_time = ? AND Flight_id > ?) " +
+                        "ORDER BY Departure_time, Flight_id LIMIT ?",
+                AirlineBackendService::mapFlight, after, after, afterFlightId, limit);
+    }
+
+    public Stream<AirlineBookingSystemFrontend.Reservation> streamReservations() throws SQLException {
+        return streamRows("SELECT * FROM RESERVATION ORDER BY PNR, Passenger_ID", AirlineBackendService::mapReservation);
+    }
+
+    public Stream<AirlineBookingSystemFrontend.Payment> streamPayments() throws SQLException {
+        return streamRows("SELECT * FROM PAYMENT ORDER BY Payment_ID", AirlineBackendService::mapPayment);
+    }
+
+    public Stream<AirlineBookingSystemFrontend.Baggage> streamBaggage() throws SQLException {
+        return streamRows("SELECT * FROM BAGGAGE ORDER BY Baggage_ID", AirlineBackendService::mapBaggage);
+    }
+
+    public Stream<AirlineBookingSystemFrontend.Flight> streamFlights() throws SQLException {
+        return streamRows("SELECT * FROM FLIGHTS ORDER BY Departure_time, Flight_id", AirlineBackendService::mapFlight);
+    }
+
+    private <T> List<T> queryPage(String sql, RowMapper<T> mapper, Object... params) throws SQLException {
+        List<T> rows = new ArrayList<>();
+        try (Connection conn = pool.borrow();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                pstmt.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(mapper.map(rs));
+                }
             }
         }
-        return airports;
+        return rows;
     }
 
-    public int getAvailableSeats(int flightId, Date journeyDate) throws SQLException {
-        try (PreparedStatement pstmt = conn.prepareStatement(
-                "SELECT Available_Seats FROM FLIGHT_AVAILABILITY WHERE Flight_id = ? AND Journey_Date = ?")) {
-            pstmt.setInt(1, flightId);
-            pstmt.setDate(2, (java.sql.Date) journeyDate);
-            ResultSet rs = pstmt.executeQuery();
-            return rs.next() ? rs.getInt("Available_Seats") : 0;
+    private <T> Stream<T> streamRows(String sql, RowMapper<T> mapper) throws SQLException {
+        Connection conn = pool.borrow();
+        PreparedStatement pstmt = null;
+        ResultSet rs;
+        try {
+            pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            pstmt.setFetchSize(ConnectionPool.streamingFetchSize(conn, STREAM_FETCH_SIZE));
+            rs = pstmt.executeQuery();
+        } catch (SQLException | RuntimeException ex) {
+            if (pstmt != null) {
+                pstmt.close();
+            }
+            conn.close();
+            throw ex;
         }
+
+        PreparedStatement statement = pstmt;
+        Spliterator<T> rows = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!rs.next()) {
+                        return false;
+                    }
+                    action.accept(mapper.map(rs));
+                    return true;
+                } catch (SQLException e) {
+                    throw new IllegalStateException("Failed to read row: " + e.getMessage(), e);
+                }
+            }
+        };
+        return StreamSupport.stream(rows, false).onClose(() -> {
+            try {
+                rs.close();
+                statement.close();
+            } catch (SQLException ignored) {
+            } finally {
+                try {
+                    conn.close();
+                } catch (SQLException ignored) {
+                }
+            }
+        });
+    }
+
+    private static AirlineBookingSystemFrontend.Reservation mapReservation(ResultSet rs) throws SQLException {
+        return new AirlineBookingSystemFrontend.Reservation(
+                rs.getString("PNR"),
+                rs.getInt("Passenger_ID"),
+                rs.getInt("Flight_ID"),
+                rs.getString("Seat_No"),
+                rs.getDate("Booking_Date"),
+                rs.getDate("Journey_Date")
+        );
+    }
+
+    private static AirlineBookingSystemFrontend.Payment mapPayment(ResultSet rs) throws SQLException {
+        return new AirlineBookingSystemFrontend.Payment(
+                rs.getInt("Payment_ID"),
+                rs.getString("PNR"),
+                rs.getDouble("Amount"),
+                rs.getString("Payment_Method"),
+                rs.getTimestamp("Transaction_date")
+        );
+    }
+
+    private static AirlineBookingSystemFrontend.Baggage mapBaggage(ResultSet rs) throws SQLException {
+        return new AirlineBookingSystemFrontend.Baggage(
+                rs.getInt("Baggage_ID"),
+                rs.getInt("Passenger_ID"),
+                rs.getString("PNR"),
+                rs.getDouble("Weight"),
+                rs.getString("Baggage_type")
+        );
+    }
+
+    private static AirlineBookingSystemFrontend.Flight mapFlight(ResultSet rs) throws SQLException {
+        return new AirlineBookingSystemFrontend.Flight(
+                rs.getInt("Flight_id"),
+                rs.getString("Airline"),
+                rs.getString("Origin"),
+                rs.getString("Destination"),
+                rs.getTime("Departure_time"),
+                rs.getTime("Arrival_time"),
+                rs.getDouble("Price")
+        );
+    }
+
+    public List<String> getAllAirports() throws SQLException {
+        return referenceData.getAirportLabels();
+    }
+
+    public int getAvailableSeats(int flightId, Date journeyDate) throws SQLException {
+        return inventory.getAvailableSeats(flightId, journeyDate.toLocalDate());
     }
 
     public String getSeatNumberForPassenger(int passengerId) throws SQLException {
-        try (PreparedStatement pstmt = conn.prepareStatement(
+        try (Connection conn = pool.borrow();
+             PreparedStatement pstmt = conn.prepareStatement(
                 "SELECT Seat_No FROM RESERVATION WHERE Passenger_ID = ?")) {
             pstmt.setInt(1, passengerId);
             ResultSet rs = pstmt.executeQuery();
@@ -531,7 +1100,8 @@ class AirlineBackendService {
     }
 
     public String getPnrForPassenger(int passengerId) throws SQLException {
-        try (PreparedStatement pstmt = conn.prepareStatement(
+        try (Connection conn = pool.borrow();
+             PreparedStatement pstmt = conn.prepareStatement(
                 "SELECT PNR FROM RESERVATION WHERE Passenger_ID = ?")) {
             pstmt.setInt(1, passengerId);
             ResultSet rs = pstmt.executeQuery();
@@ -540,50 +1110,7 @@ class AirlineBackendService {
     }
 
     public double getFlightPrice(int flightId) throws SQLException {
-        try (PreparedStatement pstmt = conn.prepareStatement(
-                "SELECT Price FROM FLIGHTS WHERE Flight_id = ?")) {
-            pstmt.setInt(1, flightId);
-            ResultSet rs = pstmt.executeQuery();
-            return rs.next() ? rs.getDouble("Price") : 0;
-        }
-    }
-
-    private String generateUniquePNR() throws SQLException {
-        String pnr;
-        int attempts = 0;
-        final int MAX_ATTEMPTS = 10;
-
-        do {
-            pnr = generateRandomPNR();
-            try (PreparedStatement pstmt = conn.prepareStatement(
-                    "SELECT 1 FROM RESERVATION WHERE PNR = ?")) {
-                pstmt.setString(1, pnr);
-                try (ResultSet rs = pstmt.executeQuery()) {
-                    if (!rs.next()) {
-                        return pnr;
-                    }
-                }
-            }
-
-            if (++attempts >= MAX_ATTEMPTS) {
-                throw new SQLException("Failed to generate unique PNR after " + MAX_ATTEMPTS + " attempts");
-            }
-        } while (true);
-    }
-
-    private String generateRandomPNR() {
-        String chars = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
-        Random random = new Random();
-        StringBuilder sb = new StringBuilder(6);
-        for (int i = 0; i < 6; i++) {
-            sb.append(chars.charAt(random.nextInt(chars.length())));
-        }
-        return sb.toString();
-    }
-
-    private String generateSeatNumber() {
-        char row = (char) ('A' + new Random().nextInt(10));
-        int seat = new Random().nextInt(6) + 1;
-        return row + String.valueOf(seat);
+        ReferenceData.FlightInfo flight = referenceFor(Collections.singletonList(flightId)).getFlight(flightId);
+        return flight == null ? 0 : flight.getPrice();
     }
 }
\ No newline at end of file
@@ -69,6 +69,38 @@ CREATE TABLE BAGGAGE (
     FOREIGN KEY (Passenger_ID, PNR) REFERENCES RESERVATION(Passenger_ID, PNR) ON DELETE CASCADE ON UPDATE CASCADE
 );
 
+CREATE TABLE PNR_SEQUENCE (
+    Sequence_Name VARCHAR(20) PRIMARY KEY,
+    Next_Value BIGINT NOT NULL
+);
+
+CREATE TABLE BOOKING_REQUEST (
+    Request_Key VARCHAR(64) PRIMARY KEY,
+    PNR VARCHAR(20) NOT NULL,
+    Created_At DATETIME NOT NULL
+);
+
+CREATE TABLE ROUTE_AVAILABILITY (
+    Origin VARCHAR(10) NOT NULL,
+    Destination VARCHAR(10) NOT NULL,
+    Journey_Date DATE NOT NULL,
+    Flights INT NOT NULL,
+    Available_Seats INT NOT NULL,
+    Min_Price DECIMAL(10,2),
+    PRIMARY KEY (Origin, Destination, Journey_Date)
+);
+
+CREATE INDEX idx_booking_request_created ON BOOKING_REQUEST (Created_At);
+CREATE INDEX idx_flights_route ON FLIGHTS (Origin, Destination, Departure_time, Flight_id);
+CREATE INDEX idx_flights_departure ON FLIGHTS (Departure_time, Flight_id);
+CREATE INDEX idx_availability_date ON FLIGHT_AVAILABILITY (Journey_Date, Flight_id, Available_Seats);
+CREATE INDEX idx_reservation_passenger ON RESERVATION (Passenger_ID, PNR, Seat_No);
+CREATE INDEX idx_reservation_flight_date ON RESERVATION (Flight_ID, Journey_Date, Seat_No);
+CREATE INDEX idx_baggage_passenger_type ON BAGGAGE (Passenger_ID, PNR, Baggage_type, Weight);
+CREATE INDEX idx_baggage_pnr ON BAGGAGE (PNR);
+
+INSERT INTO PNR_SEQUENCE (Sequence_Name, Next_Value) VALUES ('PNR', 1);
+
 INSERT INTO AIRPORT (Airport_id, Airport_name, City, Country) VALUES 
 ('DEL', 'Indira Gandhi International Airport', 'Delhi', 'India'),
 ('BOM', 'Chhatrapati Shivaji Maharaj International Airport', 'Mumbai', 'India'),
@@ -554,17 +586,25 @@ INSERT INTO FLIGHTS (Airline, Origin, Destination, Departure_Time, Arrival_Time,
 INSERT INTO FLIGHT_AVAILABILITY (Flight_id, Journey_Date, Available_Seats)
 SELECT 
     f.Flight_id,
-    DATE_ADD(CURDATE(), INTERVAL numbers.DAY DAY) AS Journey_Date,
+    TIMESTAMPADD(DAY, numbers.Day_Offset, CURDATE()) AS Journey_Date,
     f.Total_Seats AS Available_Seats
 FROM 
     FLIGHTS f
 CROSS JOIN 
-    (SELECT a.N + b.N*10 AS DAY 
+    (SELECT a.N + b.N*10 AS Day_Offset 
      FROM 
         (SELECT 0 AS N UNION SELECT 1 UNION SELECT 2 UNION SELECT 3 UNION SELECT 4 UNION SELECT 5 UNION SELECT 6 UNION SELECT 7 UNION SELECT 8 UNION SELECT 9) a,
         (SELECT 0 AS N UNION SELECT 1 UNION SELECT 2 UNION SELECT 3 UNION SELECT 4 UNION SELECT 5) b
     ) numbers
 WHERE 
-    DATE_ADD(CURDATE(), INTERVAL numbers.DAY DAY) BETWEEN CURDATE() AND DATE_ADD(CURDATE(), INTERVAL 60 DAY);
+    TIMESTAMPADD(DAY, numbers.Day_Offset, CURDATE()) BETWEEN CURDATE() AND TIMESTAMPADD(DAY, 60, CURDATE());
+
+INSERT INTO ROUTE_AVAILABILITY (Origin, Destination, Journey_Date, Flights, Available_Seats, Min_Price)
+SELECT f.Origin, f.Destination, fa.Journey_Date,
+       SUM(CASE WHEN fa.Available_Seats > 0 THEN 1 ELSE 0 END), SUM(fa.Available_Seats),
+       MIN(CASE WHEN fa.Available_Seats > 0 THEN f.Price END)
+FROM FLIGHT_AVAILABILITY fa
+JOIN FLIGHTS f ON f.Flight_id = fa.Flight_id
+GROUP BY f.Origin, f.Destination, fa.Journey_Date;
     
 
@@ -0,0 +1,58 @@
+USE airline_db;
+
+CREATE TABLE IF NOT EXISTS PNR_SEQUENCE (
+    Sequence_Name VARCHAR(20) PRIMARY KEY,
+    Next_Value BIGINT NOT NULL
+);
+
+INSERT IGNORE INTO PNR_SEQUENCE (Sequence_Name, Next_Value) VALUES ('PNR', 1);
+
+CREATE TABLE IF NOT EXISTS BOOKING_REQUEST (
+    Request_Key VARCHAR(64) PRIMARY KEY,
+    PNR VARCHAR(20) NOT NULL,
+    Created_At DATETIME NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS ROUTE_AVAILABILITY (
+    Origin VARCHAR(10) NOT NULL,
+    Destination VARCHAR(10) NOT NULL,
+    Journey_Date DATE NOT NULL,
+    Flights INT NOT NULL,
+    Available_Seats INT NOT NULL,
+    Min_Price DECIMAL(10,2),
+    PRIMARY KEY (Origin, Destination, Journey_Date)
+);
+
+INSERT IGNORE INTO ROUTE_AVAILABILITY (Origin, Destination, Journey_Date, Flights, Available_Seats, Min_Price)
+SELECT f.Origin, f.Destination, fa.Journey_Date,
+       SUM(CASE WHEN fa.Available_Seats > 0 THEN 1 ELSE 0 END), SUM(fa.Available_Seats),
+       MIN(CASE WHEN fa.Available_Seats > 0 THEN f.Price END)
+FROM FLIGHT_AVAILABILITY fa
+JOIN FLIGHTS f ON f.Flight_id = fa.Flight_id
+GROUP BY f.Origin, f.Destination, fa.Journey_Date;
+
+DROP PROCEDURE IF EXISTS create_index_if_missing;
+
+DELIMITER //
+CREATE PROCEDURE create_index_if_missing(IN p_table VARCHAR(64), IN p_index VARCHAR(64), IN p_columns VARCHAR(255))
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.STATISTICS s
+                   WHERE s.TABLE_SCHEMA = DATABASE() AND s.TABLE_NAME = p_table AND s.INDEX_NAME = p_index) THEN
+        SET @ddl = CONCAT('CREATE INDEX ', p_index, ' ON ', p_table, ' (', p_columns, ')');
+        PREPARE stmt FROM @ddl;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+    END IF;
+END //
+DELIMITER ;
+
+CALL create_index_if_missing('BOOKING_REQUEST', 'idx_booking_request_created', 'Created_At');
+CALL create_index_if_missing('FLIGHTS', 'idx_flights_route', 'Origin, Destination, Departure_time, Flight_id');
+CALL create_index_if_missing('FLIGHTS', 'idx_flights_departure', 'Departure_time, Flight_id');
+CALL create_index_if_missing('FLIGHT_AVAILABILITY', 'idx_availability_date', 'Journey_Date, Flight_id, Available_Seats');
+CALL create_index_if_missing('RESERVATION', 'idx_reservation_passenger', 'Passenger_ID, PNR, Seat_No');
+CALL create_index_if_missing('RESERVATION', 'idx_reservation_flight_date', 'Flight_ID, Journey_Date, Seat_No');
+CALL create_index_if_missing('BAGGAGE', 'idx_baggage_passenger_type', 'Passenger_ID, PNR, Baggage_type, Weight');
+CALL create_index_if_missing('BAGGAGE', 'idx_baggage_pnr', 'PNR');
+
+DROP PROCEDURE create_index_if_missing;
@@ -0,0 +1,211 @@
+import airline.benchmark.BackendOperations;
+import javafx.collections.FXCollections;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+public class EmbeddedBackend implements BackendOperations {
+
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    private final AtomicLong passengerCounter = new AtomicLong();
+    private String url;
+    private String origin;
+    private String destination;
+    private AirlineBackendService backend;
+    private ConnectionPool sequencePool;
+    private PnrGenerator pnrGenerator;
+    private List<Object[]> routeTargets;
+    private List<Object[]> bookingTargets;
+
+    @Override
+    public void open(String origin, String destination, int seedReservations) throws Exception {
+        this.origin = origin;
+        this.destination = destination;
+        url = EmbeddedDatabase.start("bench" + System.nanoTime());
+        if (seedReservations > 0) {
+            seedReservations(seedReservations);
+        }
+        backend = AirlineBackendService.create();
+        backend.initializeDatabaseConnection();
+        sequencePool = new ConnectionPool(url, EmbeddedDatabase.USER, EmbeddedDatabase.PASSWORD, 1, 1, 5_000L, 16);
+        pnrGenerator = new PnrGenerator(sequencePool, 1000);
+        routeTargets = loadTargets(true);
+        bookingTargets = loadTargets(false);
+        if (routeTargets.isEmpty()) {
+            throw new IllegalStateException("No future FLIGHT_AVAILABILITY rows for " + origin + " -> " + destination);
+        }
+    }
+
+    @Override
+    public Object searchFlights() throws SQLException {
+        return backend.searchFlights(origin, destination, (Date) pick(routeTargets)[1]);
+    }
+
+    @Override
+    public Object getAvailableSeats() throws SQLException {
+        Object[] target = pick(routeTargets);
+        return backend.getAvailableSeats((Integer) target[0], (Date) target[1]);
+    }
+
+    @Override
+    public Object getPassengersForFlight() throws SQLException {
+        Object[] target = pick(routeTargets);
+        return backend.getPassengersForFlight((Integer) target[0], (Date) target[1]);
+    }
+
+    @Override
+    public Object generatePnr() throws SQLException {
+        return pnrGenerator.next();
+    }
+
+    @Override
+    public String bookTicket() throws SQLException {
+        Object[] target = pick(bookingTargets);
+        long n = passengerCounter.incrementAndGet();
+        return backend.bookTicket((Integer) target[0], (Date) target[1], FXCollections.observableArrayList(
+                new AirlineBookingSystemFrontend.Passenger(0, "Bench " + n, "bench" + n + "@example.com", "9000000000")),
+                "Credit Card");
+    }
+
+    @Override
+    public void cancelTicket(String pnr) throws SQLException {
+        backend.cancelTicket(pnr);
+    }
+
+    @Override
+    public void cancelTickets(List<String> pnrs) throws SQLException {
+        backend.cancelTickets(pnrs);
+    }
+
+    @Override
+    public void close() {
+        if (sequencePool != null) {
+            sequencePool.close();
+        }
+        if (backend != null) {
+            backend.shutdown();
+        }
+    }
+
+    private static Object[] pick(List<Object[]> targets) {
+        return targets.get(ThreadLocalRandom.current().nextInt(targets.size()));
+    }
+
+    private List<Object[]> loadTargets(boolean routeOnly) throws SQLException {
+        List<Object[]> targets = new ArrayList<>();
+        try (Connection conn = DriverManager.getConnection(url, EmbeddedDatabase.USER, EmbeddedDatabase.PASSWORD);
+             PreparedStatement ps = conn.prepareStatement(
+                     "SELECT fa.Flight_id, fa.Journey_Date FROM FLIGHT_AVAILABILITY fa " +
+                             "JOIN FLIGHTS f ON f.Flight_id = fa.Flight_id " +
+                             "WHERE fa.Journey_Date > CURDATE() AND fa.Available_Seats > 0" +
+                             (routeOnly ? " AND f.Origin = ? AND f.Destination = ?" : ""))) {
+            if (routeOnly) {
+                ps.setString(1, origin);
+                ps.setString(2, destination);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    targets.add(new Object[]{rs.getInt("Flight_id"), rs.getDate("Journey_Date")});
+                }
+            }
+        }
+        return targets;
+    }
+
+    private void seedReservations(int count) throws SQLException {
+        int seeded = 0;
+        try (Connection conn = DriverManager.getConnection(url, EmbeddedDatabase.USER, EmbeddedDatabase.PASSWORD)) {
+            conn.setAutoCommit(false);
+            List<Object[]> flightDates = new ArrayList<>();
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(
+                         "SELECT fa.Flight_id, fa.Journey_Date, f.Total_Seats FROM FLIGHT_AVAILABILITY fa " +
+                                 "JOIN FLIGHTS f ON f.Flight_id = fa.Flight_id " +
+                                 "ORDER BY fa.Journey_Date DESC, fa.Flight_id")) {
+                while (rs.next()) {
+                    flightDates.add(new Object[]{rs.getInt("Flight_id"), rs.getDate("Journey_Date"), rs.getInt("Total_Seats")});
+                }
+            }
+
+            List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+            for (Object[] flightDate : flightDates) {
+                int totalSeats = (Integer) flightDate[2];
+                for (int seat = totalSeats / 2; seat < totalSeats && seeded < count; seat++, seeded++) {
+                    batch.add(new Object[]{"S" + Integer.toString(seeded, 36).toUpperCase(),
+                            flightDate[0], SeatMap.label(seat), flightDate[1]});
+                    if (batch.size() == SEED_BATCH_SIZE) {
+                        insertSeedBatch(conn, batch);
+                        batch.clear();
+                    }
+                }
+                if (seeded >= count) {
+                    break;
+                }
+            }
+            if (!batch.isEmpty()) {
+                insertSeedBatch(conn, batch);
+            }
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("UPDATE FLIGHT_AVAILABILITY fa SET Available_Seats = " +
+                        "(SELECT f.Total_Seats FROM FLIGHTS f WHERE f.Flight_id = fa.Flight_id) - " +
+                        "(SELECT COUNT(*) FROM RESERVATION r WHERE r.Flight_ID = fa.Flight_id AND r.Journey_Date = fa.Journey_Date)");
+            }
+            conn.commit();
+        }
+        if (seeded < count) {
+            throw new IllegalStateException("Ran out of flight-dates after " + seeded + " reservations");
+        }
+    }
+
+    private static void insertSeedBatch(Connection conn, List<Object[]> batch) throws SQLException {
+        List<Integer> passengerIds = new ArrayList<>(batch.size());
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO PASSENGERS (Name, Email_id, Phone_num) VALUES (?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (Object[] row : batch) {
+                ps.setString(1, "Seed " + row[0]);
+                ps.setString(2, row[0] + "@example.com");
+                ps.setString(3, "9000000000");
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                while (keys.next()) {
+                    passengerIds.add(keys.getInt(1));
+                }
+            }
+        }
+
+        try (PreparedStatement reservation = conn.prepareStatement(
+                "INSERT INTO RESERVATION (PNR, Passenger_ID, Flight_ID, Seat_No, Booking_Date, Journey_Date) " +
+                        "VALUES (?, ?, ?, ?, CURDATE(), ?)");
+             PreparedStatement payment = conn.prepareStatement(
+                     "INSERT INTO PAYMENT (PNR, Amount, Payment_Method, Transaction_date) VALUES (?, 0, 'Seed', NOW())")) {
+            for (int i = 0; i < batch.size(); i++) {
+                Object[] row = batch.get(i);
+                reservation.setString(1, (String) row[0]);
+                reservation.setInt(2, passengerIds.get(i));
+                reservation.setInt(3, (Integer) row[1]);
+                reservation.setString(4, (String) row[2]);
+                reservation.setDate(5, (Date) row[3]);
+                reservation.addBatch();
+                payment.setString(1, (String) row[0]);
+                payment.addBatch();
+            }
+            reservation.executeBatch();
+            payment.executeBatch();
+        }
+        conn.commit();
+    }
+}
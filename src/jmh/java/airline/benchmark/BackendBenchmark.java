@@ -0,0 +1,108 @@
+package airline.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class BackendBenchmark {
+
+    @Param("DEL")
+    public String origin;
+
+    @Param("BOM")
+    public String destination;
+
+    @Param("0")
+    public int seedReservations;
+
+    private BackendOperations backend;
+    private final Queue<String> booked = new ConcurrentLinkedQueue<>();
+
+    @Setup(Level.Trial)
+    public void open() throws Exception {
+        backend = (BackendOperations) Class.forName("EmbeddedBackend").getDeclaredConstructor().newInstance();
+        backend.open(origin, destination, seedReservations);
+    }
+
+    @TearDown(Level.Iteration)
+    public void cancelBooked() throws Exception {
+        List<String> pnrs = new ArrayList<>();
+        for (String pnr; (pnr = booked.poll()) != null; ) {
+            pnrs.add(pnr);
+        }
+        if (!pnrs.isEmpty()) {
+            backend.cancelTickets(pnrs);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws Exception {
+        backend.close();
+    }
+
+    @Benchmark
+    public Object searchFlights() throws Exception {
+        return backend.searchFlights();
+    }
+
+    @Benchmark
+    public Object getAvailableSeats() throws Exception {
+        return backend.getAvailableSeats();
+    }
+
+    @Benchmark
+    public Object getPassengersForFlight() throws Exception {
+        return backend.getPassengersForFlight();
+    }
+
+    @Benchmark
+    public Object generatePnr() throws Exception {
+        return backend.generatePnr();
+    }
+
+    @Benchmark
+    public String bookTicket() throws Exception {
+        String pnr = backend.bookTicket();
+        booked.add(pnr);
+        return pnr;
+    }
+
+    @Benchmark
+    public void cancelTicket(Booking booking) throws Exception {
+        backend.cancelTicket(booking.pnr);
+    }
+
+    @State(Scope.Thread)
+    public static class Booking {
+
+        String pnr;
+
+        @Setup(Level.Invocation)
+        public void book(BackendBenchmark benchmark) throws Exception {
+            pnr = benchmark.backend.bookTicket();
+        }
+    }
+}
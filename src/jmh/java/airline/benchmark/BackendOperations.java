@@ -0,0 +1,23 @@
+package airline.benchmark;
+
+import java.util.List;
+
+
+public interface BackendOperations extends AutoCloseable {
+
+    void open(String origin, String destination, int seedReservations) throws Exception;
+
+    Object searchFlights() throws Exception;
+
+    Object getAvailableSeats() throws Exception;
+
+    Object getPassengersForFlight() throws Exception;
+
+    Object generatePnr() throws Exception;
+
+    String bookTicket() throws Exception;
+
+    void cancelTicket(String pnr) throws Exception;
+
+    void cancelTickets(List<String> pnrs) throws Exception;
+}
@@ -0,0 +1,55 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+
+final class EmbeddedDatabase {
+
+    static final String USER = "sa";
+    static final String PASSWORD = "";
+
+    private EmbeddedDatabase() {
+    }
+
+    static String start(String name) throws SQLException, IOException {
+        String url = "jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_UPPER=false;" +
+                "CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1";
+        try (Connection conn = DriverManager.getConnection(url, USER, PASSWORD);
+             Statement stmt = conn.createStatement()) {
+            for (String sql : statements(readSchema())) {
+                stmt.execute(sql);
+            }
+        }
+        System.setProperty("airline.db.url", url);
+        System.setProperty("airline.db.user", USER);
+        System.setProperty("airline.db.password", PASSWORD);
+        return url;
+    }
+
+    private static String readSchema() throws IOException {
+        try (InputStream in = EmbeddedDatabase.class.getResourceAsStream("/project.sql")) {
+            if (in == null) {
+                throw new IOException("project.sql is not on the classpath");
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static List<String> statements(String script) {
+        List<String> statements = new ArrayList<>();
+        for (String statement : script.split(";\\s*(\\r?\\n|$)")) {
+            String sql = statement.trim();
+            if (sql.isEmpty() || sql.startsWith("CREATE DATABASE") || sql.startsWith("USE ")) {
+                continue;
+            }
+            statements.add(sql);
+        }
+        return statements;
+    }
+}
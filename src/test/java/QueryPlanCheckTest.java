@@ -0,0 +1,27 @@
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+class QueryPlanCheckTest {
+
+    @Test
+    void everyBackendQueryUsesAnIndex() throws Exception {
+        String url = EmbeddedDatabase.start("plans");
+        List<String> failures = new ArrayList<>();
+        try (Connection conn = DriverManager.getConnection(url, EmbeddedDatabase.USER, EmbeddedDatabase.PASSWORD)) {
+            for (QueryPlanCheck.CheckedQuery query : QueryPlanCheck.queries()) {
+                List<String> scans = QueryPlanCheck.explain(conn, query);
+                if (!scans.isEmpty()) {
+                    failures.add(query.getName() + " -> " + String.join(", ", scans));
+                }
+            }
+        }
+        assertTrue(failures.isEmpty(), "Full scans: " + failures);
+    }
+}